@@ -0,0 +1,96 @@
+package com.example.sample.benchmark;
+
+import com.example.sample.customer.CustomerDTO;
+import com.example.sample.customer.CustomerInsertRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 응답 형식별 (JSON / Smile / CBOR) 페이지 인코딩 / 디코딩 비용과 gzip 비용
+ * 크기(원본 / gzip)는 setUp 에서 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerEncodingBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"100"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private Page<CustomerDTO> page;
+    private CustomerInsertRequest request;
+    private byte[] encodedPage;
+    private byte[] encodedRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        // 스프링 MVC 컨버터와 같은 방식으로 생성
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            default -> Jackson2ObjectMapperBuilder.json();
+        };
+        objectMapper = builder.build();
+
+        List<CustomerDTO> content = LongStream.rangeClosed(1, size)
+                .mapToObj(id -> new CustomerDTO(id, "박진희", "010" + String.format("%08d", id)))
+                .toList();
+        page = new PageImpl<>(content, PageRequest.of(0, size), 100_000);
+        request = new CustomerInsertRequest("박진희", "01040234504");
+        encodedPage = objectMapper.writeValueAsBytes(page);
+        encodedRequest = objectMapper.writeValueAsBytes(request);
+
+        System.out.printf("%n%s page(%d): %d bytes, gzip %d bytes / insert request: %d bytes%n",
+                format, size, encodedPage.length, gzip(encodedPage).length, encodedRequest.length);
+    }
+
+    @Benchmark
+    public byte[] encodePage() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    // 클라이언트 쪽 디코딩 (PageImpl 은 역직렬화할 수 없어 트리로 읽는다)
+    @Benchmark
+    public JsonNode decodePage() throws IOException {
+        return objectMapper.readTree(encodedPage);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public CustomerInsertRequest decodeRequest() throws IOException {
+        return objectMapper.readValue(encodedRequest, CustomerInsertRequest.class);
+    }
+
+    // 톰캣 압축과 같은 기본 레벨 gzip
+    @Benchmark
+    public byte[] encodePageGzip() throws IOException {
+        return gzip(objectMapper.writeValueAsBytes(page));
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(outputStream)) {
+            gzip.write(bytes);
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.sample.benchmark;
+
+import com.example.sample.customer.CustomerDTO;
+import com.example.sample.customer.CustomerEntity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * 엔티티 -> DTO 변환, DTO / 페이지 JSON 직렬화 비용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerMappingBenchmark {
+
+    private ObjectMapper objectMapper;
+    private CustomerEntity entity;
+    private CustomerDTO dto;
+    private Page<CustomerDTO> page;
+
+    @Setup
+    public void setUp() {
+        // 스프링 부트 기본 설정과 같은 방식으로 생성
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        entity = new CustomerEntity(1L, "박진희", "01040234504", 0L);
+        dto = entity.toDTO();
+
+        List<CustomerDTO> content = LongStream.rangeClosed(1, 20)
+                .mapToObj(id -> new CustomerDTO(id, "박진희", "010" + String.format("%08d", id)))
+                .toList();
+        page = new PageImpl<>(content, PageRequest.of(0, 20), 1000);
+    }
+
+    @Benchmark
+    public CustomerDTO toDTO() {
+        return entity.toDTO();
+    }
+
+    @Benchmark
+    public byte[] serializeDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dto);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.sample.benchmark;
+
+import com.example.sample.SampleApplication;
+import com.example.sample.customer.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 리스트 읽기 경로 비교: 엔티티 로딩 + toDTO / DTO 프로젝션 / 필드 선택 (읽기 전용 트랜잭션 안)
+ *
+ * 할당량은 gc 프로파일러로 본다. (gc.alloc.rate.norm = 호출당 바이트)
+ * ./mvnw -Pbenchmark verify -Djmh.args="CustomerReadBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerReadBenchmark {
+
+    private static final int customers = 1000;
+
+    @Param({"20", "100"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private CustomerRepository customerRepository;
+    private TransactionTemplate readTemplate;
+    private Pageable pageable;
+    private final Set<CustomerField> nameOnly = EnumSet.of(CustomerField.NAME);
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SampleApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.com.example.sample=INFO")
+                .run();
+        customerRepository = context.getBean(CustomerRepository.class);
+        readTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readTemplate.setReadOnly(true);
+        pageable = PageRequest.of(0, size);
+
+        // 시드 데이터와 겹치지 않는 전화번호 (098 + 일련번호)
+        List<CustomerInsertRequest> requests = IntStream.range(0, customers)
+                .mapToObj(i -> new CustomerInsertRequest("홍길동", String.format("098%08d", i)))
+                .toList();
+        context.getBean(CustomerService.class).saveAll(requests);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<CustomerDTO> entityPage() {
+        return readTemplate.execute(status -> customerRepository.findAll(pageable).map(CustomerEntity::toDTO));
+    }
+
+    @Benchmark
+    public Page<CustomerDTO> projectionPage() {
+        return readTemplate.execute(status -> customerRepository.findAllDTO(CustomerField.all(), pageable));
+    }
+
+    @Benchmark
+    public Page<CustomerDTO> sparsePage() {
+        return readTemplate.execute(status -> customerRepository.findAllDTO(nameOnly, pageable));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.sample.benchmark;
+
+import com.example.sample.SampleApplication;
+import com.example.sample.customer.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * H2 위에서 CustomerService CRUD 비용 (캐시, 트랜잭션, 이벤트 포함)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SampleApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.com.example.sample=INFO")
+                .run();
+        customerService = context.getBean(CustomerService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // 시드 데이터와 겹치지 않는 전화번호 (099 + 일련번호)
+    private String nextTel() {
+        return String.format("099%08d", ++sequence);
+    }
+
+    @Benchmark
+    public Optional<CustomerEntity> getCustomer() {
+        return customerService.getCustomer(1L);
+    }
+
+    @Benchmark
+    public Page<CustomerDTO> getCustomers() {
+        return customerService.getCustomers(PageRequest.of(0, 20), CustomerField.all());
+    }
+
+    @Benchmark
+    public Optional<CustomerEntity> update() {
+        return customerService.update(2L, new CustomerUpdateRequest("김철수", nextTel()), null);
+    }
+
+    @Benchmark
+    public boolean saveAndDelete() {
+        CustomerEntity saved = customerService.save(new CustomerInsertRequest("홍길동", nextTel()));
+        return customerService.deleteCustomer(saved.getId(), null);
+    }
+}
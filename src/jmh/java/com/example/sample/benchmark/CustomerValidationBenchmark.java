@@ -0,0 +1,57 @@
+package com.example.sample.benchmark;
+
+import com.example.sample.customer.CustomerInsertRequest;
+import com.example.sample.customer.CustomerUpdateRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 DTO Bean Validation 비용 (정상 / 위반)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+
+    private final CustomerInsertRequest validInsert = new CustomerInsertRequest("박진희", "01040234504");
+    private final CustomerInsertRequest invalidInsert = new CustomerInsertRequest("박진희박진희", "010-4023-4504");
+    private final CustomerUpdateRequest validUpdate = new CustomerUpdateRequest("박진희", "01040234504");
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CustomerInsertRequest>> validInsert() {
+        return validator.validate(validInsert);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CustomerInsertRequest>> invalidInsert() {
+        return validator.validate(invalidInsert);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CustomerUpdateRequest>> validUpdate() {
+        return validator.validate(validUpdate);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.sample.common.exception;
+
+import com.example.sample.common.limit.ConcurrencyLimitInterceptor;
+import com.example.sample.customer.CustomerConstant;
+import com.example.sample.customer.CustomerProblemMessages;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 예외 생성 + ProblemDetail 렌더링 비용
+ * (핸들러가 package-private 이라 같은 패키지에 둔다)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommonAdviceBenchmark {
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/customer/100000");
+    private CommonAdvice advice;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        // 애플리케이션과 같은 고정 메시지를 미리 만들어 둔다.
+        ProblemMessages concurrencyLimit = () -> List.of(ConcurrencyLimitInterceptor.overloadedMessage);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of(
+                "customerProblemMessages", new CustomerProblemMessages(),
+                "concurrencyLimitProblemMessages", concurrencyLimit
+        ));
+        advice = new CommonAdvice(objectMapper, beanFactory.getBeanProvider(ProblemMessages.class));
+    }
+
+    @Benchmark
+    public Common400Exception createException() {
+        return new Common400Exception(CustomerConstant.notFoundMessage);
+    }
+
+    @Benchmark
+    public byte[] render400() {
+        return advice.onException400(new Common400Exception(CustomerConstant.notFoundMessage), request).getBody();
+    }
+
+    @Benchmark
+    public byte[] render412() {
+        return advice.onException412(new Common412Exception(CustomerConstant.versionMismatchMessage), request).getBody();
+    }
+
+    // 비교용: 미리 직렬화하지 않고 매번 ProblemDetail 을 만들어 직렬화
+    @Benchmark
+    public byte[] serializeProblemDetail() throws JsonProcessingException {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, CustomerConstant.notFoundMessage);
+        problem.setInstance(URI.create(request.getRequestURI()));
+        return objectMapper.writeValueAsBytes(problem);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.sample.common.datasource;
+
+import java.util.function.Supplier;
+
+// 복제 지연을 허용하지 않는 읽기를 readOnly 트랜잭션 안에서도 primary 로 보낸다. (ReplicaRoutingDataSource)
+// 예: 캐시 적재, replica 의 지난 값이 캐시에 들어가면 TTL 동안 남는다.
+// 연결은 처음 쿼리할 때 정해지므로 (LazyConnectionDataSourceProxy) 트랜잭션이 아직 연결을 받기 전에 감싸야 한다.
+public final class PrimaryRead {
+
+    private static final ThreadLocal<Boolean> forced = new ThreadLocal<>();
+
+    private PrimaryRead() {
+    }
+
+    public static <T> T call(Supplier<T> action) {
+        if (isForced()) {
+            return action.get();
+        }
+        forced.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            forced.remove();
+        }
+    }
+
+    static boolean isForced() {
+        return forced.get() != null;
+    }
+}
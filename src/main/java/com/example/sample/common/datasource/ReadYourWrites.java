@@ -0,0 +1,133 @@
+package com.example.sample.common.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+// 쓰기를 커밋한 클라이언트만 stickiness 동안 primary 에서 읽게 하는 표시 (epoch ms 까지)
+// - 웹 요청은 cookie 로 주고받아서 같은 클라이언트의 다음 요청에도, 다른 노드에서도 적용된다. 같은 요청 안에서는 request attribute 로 본다.
+// - cookie 값은 "<until>.<HMAC-SHA256 서명>" 이고, 서명이 맞지 않거나 now + stickiness 보다 먼 값은 무시한다. (클라이언트가 primary 에 계속 붙지 못하게)
+//   secret 이 비어 있으면 프로세스마다 임의로 만드므로, 노드가 여러 개면 같은 secret 을 설정해야 다른 노드에서도 적용된다.
+// - 요청 밖(스케줄러, 비동기 스레드 등)은 스레드별로 기억한다.
+// 다른 클라이언트의 쓰기는 영향을 주지 않으므로 쓰기가 계속 있어도 replica 를 사용한다.
+final class ReadYourWrites {
+
+    static final String cookieName = "primary-until";
+
+    private static final String attributeName = ReadYourWrites.class.getName() + ".until";
+
+    private static final String macAlgorithm = "HmacSHA256";
+
+    private final Duration stickiness;
+    private final SecretKeySpec key;
+    private final ThreadLocal<Long> threadUntil = new ThreadLocal<>();
+
+    ReadYourWrites(Duration stickiness, String secret) {
+        this.stickiness = stickiness;
+        this.key = new SecretKeySpec(secret == null || secret.isEmpty()
+                ? randomSecret()
+                : secret.getBytes(StandardCharsets.UTF_8), macAlgorithm);
+    }
+
+    void markWrite() {
+        long until = System.currentTimeMillis() + stickiness.toMillis();
+        ServletRequestAttributes attributes = currentRequest();
+        if (attributes == null) {
+            threadUntil.set(until);
+            return;
+        }
+
+        attributes.getRequest().setAttribute(attributeName, until);
+        HttpServletResponse response = attributes.getResponse();
+        if (response != null && !response.isCommitted()) {
+            Cookie cookie = new Cookie(cookieName, until + "." + sign(until));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (stickiness.toMillis() + 999) / 1000));
+            response.addCookie(cookie);
+        }
+    }
+
+    boolean isSticky() {
+        long now = System.currentTimeMillis();
+        ServletRequestAttributes attributes = currentRequest();
+        if (attributes == null) {
+            Long until = threadUntil.get();
+            if (until != null && until <= now) {
+                threadUntil.remove();
+            }
+            return until != null && now < until;
+        }
+
+        HttpServletRequest request = attributes.getRequest();
+        if (request.getAttribute(attributeName) instanceof Long until && now < until) {
+            return true;
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (cookieName.equals(cookie.getName())) {
+                    long until = verify(cookie.getValue());
+                    if (now < until && until <= now + stickiness.toMillis()) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    // 서명이 맞으면 until, 아니면 0
+    private long verify(String value) {
+        int separator = value == null ? -1 : value.indexOf('.');
+        if (separator < 0) {
+            return 0;
+        }
+        long until = parse(value.substring(0, separator));
+        byte[] expected = sign(until).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = value.substring(separator + 1).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, actual) ? until : 0;
+    }
+
+    private String sign(long until) {
+        try {
+            Mac mac = Mac.getInstance(macAlgorithm);
+            mac.init(key);
+            byte[] signature = mac.doFinal(Long.toString(until).getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] randomSecret() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        return secret;
+    }
+
+    private static ServletRequestAttributes currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes ? servletAttributes : null;
+    }
+
+    private static long parse(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
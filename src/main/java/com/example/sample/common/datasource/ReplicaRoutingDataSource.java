@@ -0,0 +1,166 @@
+package com.example.sample.common.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// readOnly 트랜잭션은 정상인 replica 중 하나(round-robin)로, 그 외(쓰기, 트랜잭션 밖)는 primary 로 보낸다.
+// - 트랜잭션의 readOnly 여부는 시작 이후에 정해지므로 LazyConnectionDataSourceProxy 로 감싸서 사용한다.
+// - 정상인 replica 가 없거나 연결에 실패하면 primary 로 보낸다.
+// - 쓰기를 커밋한 클라이언트는 stickiness 동안 읽기도 primary 로 보낸다. (복제 지연 동안 자기 쓰기를 못 읽는 문제, ReadYourWrites)
+// - PrimaryRead 로 감싼 읽기(캐시 적재 등)는 primary 로 보낸다.
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWrites readYourWrites;
+    private final ScheduledExecutorService healthCheckExecutor;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            List<DataSource> replicas,
+            Duration stickiness,
+            String cookieSecret,
+            Duration healthCheckInterval
+    ) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.readYourWrites = new ReadYourWrites(stickiness, cookieSecret);
+
+        this.healthCheckExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = healthCheckInterval.toMillis();
+        healthCheckExecutor.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = route();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            replica.markDown(e);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    public void close() throws Exception {
+        healthCheckExecutor.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    // 다른 스레드(group commit 등)에서 커밋된 이 요청 / 스레드의 쓰기를 표시한다.
+    public void markWrite() {
+        readYourWrites.markWrite();
+    }
+
+    public int healthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(1)) {
+                    replica.markUp();
+                } else {
+                    replica.markDown(null);
+                }
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+    }
+
+    private Replica route() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return null;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            markWriteOnCommit();
+            return null;
+        }
+        if (PrimaryRead.isForced() || readYourWrites.isSticky()) {
+            return null;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void markWriteOnCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readYourWrites.markWrite();
+                }
+            });
+        }
+    }
+
+    private static class Replica {
+
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        void markUp() {
+            if (!healthy) {
+                log.info("replica is back: {}", dataSource);
+            }
+            healthy = true;
+        }
+
+        void markDown(SQLException cause) {
+            if (healthy) {
+                log.warn("replica is down, routing reads to primary: {}", dataSource, cause);
+            }
+            healthy = false;
+        }
+    }
+}
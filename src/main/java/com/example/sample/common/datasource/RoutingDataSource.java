@@ -0,0 +1,28 @@
+package com.example.sample.common.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+// ReplicaRoutingDataSource 앞의 LazyConnectionDataSourceProxy, 종료 시 primary / replica 풀을 닫는다.
+public class RoutingDataSource extends LazyConnectionDataSourceProxy implements WriteMarker, AutoCloseable {
+
+    private final ReplicaRoutingDataSource routing;
+
+    public RoutingDataSource(ReplicaRoutingDataSource routing) {
+        super(routing);
+        this.routing = routing;
+    }
+
+    public ReplicaRoutingDataSource getRouting() {
+        return routing;
+    }
+
+    @Override
+    public void markWrite() {
+        routing.markWrite();
+    }
+
+    @Override
+    public void close() throws Exception {
+        routing.close();
+    }
+}
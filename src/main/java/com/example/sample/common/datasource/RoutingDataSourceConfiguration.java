@@ -0,0 +1,59 @@
+package com.example.sample.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// datasource.routing.enabled 일 때 spring.datasource 를 primary 로, datasource.routing.replicas 를 읽기 전용으로 묶는다.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+public class RoutingDataSourceConfiguration {
+
+    @Bean
+    public DataSource dataSource(
+            DataSourceProperties dataSourceProperties,
+            RoutingDataSourceProperties properties,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        // 라우팅 프록시 안쪽의 풀은 자동 설정이 찾지 못하므로 hikaricp 메트릭을 직접 연결한다.
+        meterRegistry.ifAvailable(primary::setMetricRegistry);
+
+        List<RoutingDataSourceProperties.Replica> replicaProperties = properties.replicas();
+        List<DataSource> replicas = IntStream.range(0, replicaProperties.size())
+                .mapToObj(i -> {
+                    RoutingDataSourceProperties.Replica replica = replicaProperties.get(i);
+                    HikariDataSource dataSource = DataSourceBuilder.create()
+                            .type(HikariDataSource.class)
+                            .url(replica.url())
+                            .username(replica.username())
+                            .password(replica.password())
+                            .build();
+                    dataSource.setPoolName("replica-" + i);
+                    dataSource.setReadOnly(true);
+                    meterRegistry.ifAvailable(dataSource::setMetricRegistry);
+                    return (DataSource) dataSource;
+                })
+                .toList();
+
+        return new RoutingDataSource(new ReplicaRoutingDataSource(
+                primary,
+                replicas,
+                properties.stickiness(),
+                properties.cookieSecret(),
+                properties.healthCheckInterval()
+        ));
+    }
+}
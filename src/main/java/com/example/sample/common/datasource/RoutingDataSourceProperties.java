@@ -0,0 +1,36 @@
+package com.example.sample.common.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "datasource.routing")
+public record RoutingDataSourceProperties(
+        // 켜면 readOnly 트랜잭션은 replicas 로, 나머지는 spring.datasource(primary) 로 보낸다.
+        @DefaultValue("false")
+        boolean enabled,
+
+        // 쓰기를 커밋한 클라이언트는 이 시간 동안 읽기도 primary 로 보낸다. (read-your-writes, primary-until cookie)
+        @DefaultValue("2s")
+        Duration stickiness,
+
+        // primary-until cookie 서명 키, 비어 있으면 프로세스마다 임의로 만든다. 노드가 여러 개면 모두 같은 값을 설정한다.
+        @DefaultValue("")
+        String cookieSecret,
+
+        // replica 연결 확인 주기, 실패한 replica 는 다음 확인까지 제외한다.
+        @DefaultValue("5s")
+        Duration healthCheckInterval,
+
+        @DefaultValue
+        List<Replica> replicas
+) {
+
+    public record Replica(
+            String url,
+            String username,
+            String password
+    ) {}
+}
@@ -0,0 +1,8 @@
+package com.example.sample.common.datasource;
+
+// 현재 요청 / 스레드가 쓰기를 커밋했다고 표시한다. (read-your-writes)
+// 라우팅 DataSource 는 트랜잭션 커밋 시 직접 표시하므로, 다른 스레드(group commit 등)에서 커밋된 쓰기만 호출하면 된다.
+public interface WriteMarker {
+
+    void markWrite();
+}
@@ -1,8 +1,14 @@
 package com.example.sample.common.exception;
 
 // 적합하지 않거나(illegal) 적절하지 못한(inappropriate) 인자
+// 클라이언트 오류라 스택 트레이스가 필요 없다. (없는 id 조회가 많을 때 비용의 대부분)
 public class Common400Exception extends IllegalArgumentException {
     public Common400Exception(String message) {
         super(message);
     }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
 }
@@ -0,0 +1,8 @@
+package com.example.sample.common.exception;
+
+// 이미 존재하는 데이터와 충돌 (unique 값 중복)
+public class Common409Exception extends RuntimeException {
+    public Common409Exception(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.sample.common.exception;
+
+// 요청의 전제 조건(If-Match 버전)이 현재 상태와 맞지 않음
+public class Common412Exception extends RuntimeException {
+    public Common412Exception(String message) {
+        super(message, null, false, false);
+    }
+}
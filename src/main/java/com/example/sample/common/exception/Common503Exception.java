@@ -0,0 +1,19 @@
+package com.example.sample.common.exception;
+
+import java.time.Duration;
+
+// 과부하로 처리하지 않고 거절한 요청, retryAfter 뒤에 다시 시도하도록 알린다.
+// 부하가 몰릴 때 던지므로 스택을 만들지 않는다.
+public class Common503Exception extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public Common503Exception(String message, Duration retryAfter) {
+        super(message, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -1,23 +1,84 @@
 package com.example.sample.common.exception;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @ControllerAdvice
 public class CommonAdvice {
 
+    static final String conflictMessage = "이미 존재하는 데이터와 충돌합니다.";
+
+    private final ProblemBodyCache problemBodyCache;
+
+    // 미리 만들어 두는 본문은 이 클래스가 직접 그리는 상태 x 등록된 고정 메시지 (ProblemMessages)
+    public CommonAdvice(ObjectMapper objectMapper, ObjectProvider<ProblemMessages> problemMessages) {
+        List<String> messages = new ArrayList<>(List.of(conflictMessage));
+        problemMessages.orderedStream().forEach(provider -> messages.addAll(provider.messages()));
+        this.problemBodyCache = new ProblemBodyCache(
+                objectMapper,
+                List.of(HttpStatus.BAD_REQUEST, HttpStatus.CONFLICT, HttpStatus.PRECONDITION_FAILED, HttpStatus.SERVICE_UNAVAILABLE),
+                messages
+        );
+    }
+
     @ExceptionHandler(Common400Exception.class)
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    ProblemDetail onException400 (
-        Common400Exception exception
+    ResponseEntity<byte[]> onException400 (
+            Common400Exception exception,
+            HttpServletRequest request
     ) {
-        return ProblemDetail.forStatusAndDetail (
-                HttpStatusCode.valueOf(HttpStatus.BAD_REQUEST.value()), exception.getMessage()
-        );
+        return problem(HttpStatus.BAD_REQUEST, exception.getMessage(), request);
+    }
+
+    @ExceptionHandler(Common412Exception.class)
+    ResponseEntity<byte[]> onException412 (
+            Common412Exception exception,
+            HttpServletRequest request
+    ) {
+        return problem(HttpStatus.PRECONDITION_FAILED, exception.getMessage(), request);
+    }
+
+    @ExceptionHandler(Common409Exception.class)
+    ResponseEntity<byte[]> onException409 (
+            Common409Exception exception,
+            HttpServletRequest request
+    ) {
+        return problem(HttpStatus.CONFLICT, exception.getMessage(), request);
+    }
+
+    // 서비스에서 변환하지 못한 제약 조건 위반도 500 이 아니라 409 로 응답한다.
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    ResponseEntity<byte[]> onDataIntegrityViolation (
+            DataIntegrityViolationException exception,
+            HttpServletRequest request
+    ) {
+        return problem(HttpStatus.CONFLICT, conflictMessage, request);
+    }
+
+    // 과부하로 거절한 요청, Retry-After(초) 뒤에 다시 시도하도록 알린다.
+    @ExceptionHandler(Common503Exception.class)
+    ResponseEntity<byte[]> onException503 (
+            Common503Exception exception,
+            HttpServletRequest request
+    ) {
+        long seconds = Math.max(1, (exception.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(seconds))
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(problemBodyCache.render(HttpStatus.SERVICE_UNAVAILABLE, exception.getMessage(), request.getRequestURI()));
     }
 
     @ExceptionHandler(Common500Exception.class)
@@ -39,4 +100,11 @@ public class CommonAdvice {
                 HttpStatusCode.valueOf(HttpStatus.INTERNAL_SERVER_ERROR.value()), exception.getMessage()
         );
     }
+
+    // 4xx 는 미리 직렬화한 본문을 그대로 내려준다. (ProblemDetail 생성, 메시지 컨버터 협상 생략)
+    private ResponseEntity<byte[]> problem(HttpStatus status, String detail, HttpServletRequest request) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(problemBodyCache.render(status, detail, request.getRequestURI()));
+    }
 }
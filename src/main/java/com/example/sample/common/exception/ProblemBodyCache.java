@@ -0,0 +1,59 @@
+package com.example.sample.common.exception;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+// 상태 + 메시지별로 ProblemDetail JSON 을 시작할 때 한 번만 직렬화해 두고, 요청마다 instance(요청 주소)만 이어 붙인다.
+// 미리 알려준 고정 메시지만 캐시하고, 그 밖의 메시지(값이 들어간 메시지 등)는 매번 직렬화한다.
+class ProblemBodyCache {
+
+    private static final byte[] instanceSuffix = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    // 만든 뒤에는 바뀌지 않는다.
+    private final Map<HttpStatus, Map<String, byte[]>> prefixes = new HashMap<>();
+
+    ProblemBodyCache(ObjectMapper objectMapper, Collection<HttpStatus> statuses, Collection<String> messages) {
+        this.objectMapper = objectMapper;
+        for (HttpStatus status : statuses) {
+            Map<String, byte[]> byDetail = new HashMap<>();
+            messages.forEach(message -> byDetail.put(message, serialize(status, message)));
+            prefixes.put(status, byDetail);
+        }
+    }
+
+    byte[] render(HttpStatus status, String detail, String instance) {
+        byte[] prefix = prefix(status, detail == null ? "" : detail);
+        byte[] quoted = JsonStringEncoder.getInstance().quoteAsUTF8(instance);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(prefix.length + quoted.length + instanceSuffix.length);
+        body.writeBytes(prefix);
+        body.writeBytes(quoted);
+        body.writeBytes(instanceSuffix);
+        return body.toByteArray();
+    }
+
+    private byte[] prefix(HttpStatus status, String detail) {
+        byte[] prefix = prefixes.getOrDefault(status, Map.of()).get(detail);
+        return prefix != null ? prefix : serialize(status, detail);
+    }
+
+    // {"type":...,"detail":"..."} -> {"type":...,"detail":"...","instance":"
+    private byte[] serialize(HttpStatus status, String detail) {
+        try {
+            String json = objectMapper.writeValueAsString(ProblemDetail.forStatusAndDetail(status, detail));
+            return (json.substring(0, json.length() - 1) + ",\"instance\":\"").getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
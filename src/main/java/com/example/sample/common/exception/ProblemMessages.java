@@ -0,0 +1,11 @@
+package com.example.sample.common.exception;
+
+import java.util.Collection;
+
+// 응답 본문을 미리 만들어 둘 고정 오류 메시지 목록, 모듈마다 빈으로 등록한다. (ProblemBodyCache)
+// 값이 들어가는 메시지(String.format, 검증 메시지 등)는 넣지 않는다.
+@FunctionalInterface
+public interface ProblemMessages {
+
+    Collection<String> messages();
+}
@@ -0,0 +1,44 @@
+package com.example.sample.common.id;
+
+// 노드 간 조율 없이 전역에서 유일한 64비트 id
+// 0 | 41비트 시각(ms, epoch 부터) | 10비트 workerId | 12비트 순번
+// - 같은 workerId 를 두 노드에서 쓰지 않는 것만 보장하면 된다.
+// - 대략 시간 순으로 증가하므로 id 정렬이 생성 순서와 거의 같다.
+// - 시계가 뒤로 가면 마지막 시각을 계속 쓰고, 순번이 넘치면 다음 ms 를 당겨 쓴다. (기다리지 않는다)
+public class SnowflakeIdGenerator {
+
+    // 2024-01-01T00:00:00Z
+    private static final long epoch = 1704067200000L;
+
+    private static final int workerBits = 10;
+    private static final int sequenceBits = 12;
+
+    public static final int maxWorkerId = (1 << workerBits) - 1;
+    private static final long sequenceMask = (1L << sequenceBits) - 1;
+
+    private final long workerId;
+
+    private long lastMillis = -1;
+    private long sequence;
+
+    public SnowflakeIdGenerator(int workerId) {
+        if (workerId < 0 || workerId > maxWorkerId) {
+            throw new IllegalArgumentException("workerId must be between 0 and " + maxWorkerId + ": " + workerId);
+        }
+        this.workerId = workerId;
+    }
+
+    public synchronized long next() {
+        long now = Math.max(System.currentTimeMillis(), lastMillis);
+        if (now == lastMillis) {
+            sequence = (sequence + 1) & sequenceMask;
+            if (sequence == 0) {
+                now++;
+            }
+        } else {
+            sequence = 0;
+        }
+        lastMillis = now;
+        return ((now - epoch) << (workerBits + sequenceBits)) | (workerId << sequenceBits) | sequence;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.sample.common.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 동시에 처리 중인 요청 수를 한도 안으로 제한하고, 끝난 요청의 지연 시간으로 한도를 조절한다. (AIMD)
+// - 한도가 찼으면 기다리지 않고 바로 거절한다. 스레드와 커넥션 풀 대기열이 쌓이지 않게 한다.
+// - 한도를 줄인 뒤에 시작한 요청이 느려야 다시 줄인다. 줄이기 전부터 밀려 있던 요청들 때문에 한 번에 최소 한도까지 떨어지지 않는다.
+// - 한도의 절반도 쓰지 않을 때는 늘리지 않는다. (한가할 때 한도가 부풀지 않도록)
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // 정수 부분이 실제 한도, 늘릴 때는 1 / 한도 씩 (this 로 동기화, 읽기는 volatile)
+    private volatile double limit;
+    private long lastBackoffNanos;
+
+    private final Counter rejected;
+
+    public AdaptiveConcurrencyLimiter(String group, ConcurrencyLimitProperties.Limit properties, MeterRegistry meterRegistry) {
+        this.minLimit = properties.minLimit();
+        this.maxLimit = properties.maxLimit();
+        this.latencyThresholdNanos = properties.latencyThreshold().toNanos();
+        this.backoffRatio = properties.backoffRatio();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, properties.initialLimit()));
+        this.lastBackoffNanos = System.nanoTime();
+
+        Gauge.builder("http.server.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("동시 처리 한도")
+                .tag("group", group)
+                .register(meterRegistry);
+        Gauge.builder("http.server.concurrency.in_flight", inFlight, AtomicInteger::get)
+                .description("처리 중인 요청 수")
+                .tag("group", group)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("http.server.concurrency.rejected")
+                .description("한도를 넘어 503 으로 거절한 요청 수")
+                .tag("group", group)
+                .register(meterRegistry);
+    }
+
+    // 자리가 있으면 끝날 때 release 할 Permit, 없으면 empty
+    public Optional<Permit> tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                rejected.increment();
+                return Optional.empty();
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return Optional.of(new Permit(System.nanoTime()));
+            }
+        }
+    }
+
+    private void release(long startNanos) {
+        int current = inFlight.getAndDecrement();
+        long now = System.nanoTime();
+        synchronized (this) {
+            if (now - startNanos > latencyThresholdNanos) {
+                if (startNanos - lastBackoffNanos > 0) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastBackoffNanos = now;
+                }
+            } else if (current * 2 >= getLimit()) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    // 처리 중인 요청 하나, 시작 시각으로 끝날 때 지연 시간을 잰다.
+    public final class Permit {
+
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        // 두 번째부터는 무시한다.
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                AdaptiveConcurrencyLimiter.this.release(startNanos);
+            }
+        }
+    }
+}
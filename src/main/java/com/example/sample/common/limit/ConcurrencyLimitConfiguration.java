@@ -0,0 +1,39 @@
+package com.example.sample.common.limit;
+
+import com.example.sample.common.exception.ProblemMessages;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+// concurrency-limit.paths 에만 ConcurrencyLimitInterceptor 를 건다.
+// @WebMvcTest 처럼 프로퍼티 스캔이 없는 슬라이스에서도 interceptor 가 만들어지도록 프로퍼티를 직접 등록한다.
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfiguration implements WebMvcConfigurer {
+
+    private final ConcurrencyLimitInterceptor interceptor;
+    private final ConcurrencyLimitProperties properties;
+
+    public ConcurrencyLimitConfiguration(ConcurrencyLimitInterceptor interceptor, ConcurrencyLimitProperties properties) {
+        this.interceptor = interceptor;
+        this.properties = properties;
+    }
+
+    @Bean
+    ProblemMessages concurrencyLimitProblemMessages() {
+        return () -> List.of(ConcurrencyLimitInterceptor.overloadedMessage);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor)
+                .addPathPatterns(properties.paths())
+                .excludePathPatterns(properties.excludePaths());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.sample.common.limit;
+
+import com.example.sample.common.exception.Common503Exception;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+// 읽기(GET / HEAD) 와 쓰기 요청을 각각의 AdaptiveConcurrencyLimiter 로 제한한다.
+// DB 가 느려져도 한도를 넘는 요청은 컨트롤러에 들어가기 전에 503 + Retry-After 로 거절된다. (CommonAdvice)
+@Component
+@ConditionalOnProperty(prefix = "concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    public static final String overloadedMessage = "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.";
+
+    private static final String permitAttribute = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final Duration retryAfter;
+
+    // MeterRegistry 가 없는 슬라이스 테스트(@WebMvcTest) 에서는 전역 레지스트리에 남긴다.
+    public ConcurrencyLimitInterceptor(ConcurrencyLimitProperties properties, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        this.readLimiter = new AdaptiveConcurrencyLimiter("read", properties.read(), meterRegistry);
+        this.writeLimiter = new AdaptiveConcurrencyLimiter("write", properties.write(), meterRegistry);
+        this.retryAfter = properties.retryAfter();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        AdaptiveConcurrencyLimiter.Permit permit = limiter(request).tryAcquire()
+                .orElseThrow(() -> new Common503Exception(overloadedMessage, retryAfter));
+        request.setAttribute(permitAttribute, permit);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(permitAttribute) instanceof AdaptiveConcurrencyLimiter.Permit permit) {
+            request.removeAttribute(permitAttribute);
+            permit.release();
+        }
+    }
+
+    public AdaptiveConcurrencyLimiter getReadLimiter() {
+        return readLimiter;
+    }
+
+    public AdaptiveConcurrencyLimiter getWriteLimiter() {
+        return writeLimiter;
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) ? readLimiter : writeLimiter;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.sample.common.limit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "concurrency-limit")
+public record ConcurrencyLimitProperties(
+        // 켜면 paths 의 요청을 읽기(GET / HEAD) / 쓰기로 나눠 동시 처리 수를 제한한다.
+        @DefaultValue("true")
+        boolean enabled,
+
+        // 거절 응답의 Retry-After
+        @DefaultValue("1s")
+        Duration retryAfter,
+
+        @DefaultValue("/customer/**")
+        List<String> paths,
+
+        // 응답 시간이 요청 크기나 연결 시간에 달린 요청 (SSE, 내보내기, 가져오기) 은 지연 시간 신호로 쓸 수 없어 뺀다.
+        @DefaultValue({"/customer/changes", "/customer/export", "/customer/import"})
+        List<String> excludePaths,
+
+        @DefaultValue
+        Limit read,
+
+        // 쓰기는 application.yml 에서 더 작은 한도로 덮어쓴다.
+        @DefaultValue
+        Limit write
+) {
+
+    // AIMD: 한도의 절반 이상이 처리 중일 때 빠르게 끝난 요청마다 한도를 1 / 한도 만큼 늘리고 (한도만큼 끝나면 +1)
+    // latencyThreshold 보다 오래 걸린 요청이 있으면 backoffRatio 배로 줄인다.
+    public record Limit(
+            @DefaultValue("50")
+            int initialLimit,
+
+            @DefaultValue("4")
+            int minLimit,
+
+            @DefaultValue("200")
+            int maxLimit,
+
+            @DefaultValue("200ms")
+            Duration latencyThreshold,
+
+            @DefaultValue("0.9")
+            double backoffRatio
+    ) {}
+}
@@ -0,0 +1,21 @@
+package com.example.sample.common.sql;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "sql")
+public record SqlProperties(
+        // 이 시간보다 오래 걸린 쿼리는 WARN 으로 남긴다.
+        @DefaultValue("100ms")
+        Duration slowThreshold,
+
+        // 느리지 않은 쿼리 중 INFO 로 남길 비율 (0 ~ 1)
+        @DefaultValue("0")
+        double sampleRate,
+
+        // 모아두는 쿼리 형태의 최대 개수, 넘치면 <other> 로 합친다.
+        @DefaultValue("1000")
+        int maxShapes
+) {}
@@ -0,0 +1,13 @@
+package com.example.sample.common.sql;
+
+public record SqlStatementStats(
+        String shape,
+        long count,
+        long errors,
+        double totalMillis,
+        double meanMillis,
+        double maxMillis,
+        double p50Millis,
+        double p95Millis,
+        double p99Millis
+) {}
@@ -0,0 +1,147 @@
+package com.example.sample.common.sql;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+// 쿼리 형태(리터럴, IN 목록을 ? 로 바꾼 SQL)별 실행 횟수와 지연 분포
+// 모든 쿼리를 로그로 남기는 대신 느린 쿼리와 샘플만 sql.slow 로거(비동기 appender)로 보낸다.
+@Component
+public class SqlStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger("sql.slow");
+
+    static final String otherShape = "<other>";
+
+    private static final Pattern stringLiteral = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern numberLiteral = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern inList = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern whitespace = Pattern.compile("\\s+");
+
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final int maxShapes;
+
+    private final Map<String, Aggregate> aggregates = new ConcurrentHashMap<>();
+    // 같은 SQL 문자열을 매번 정규화하지 않도록 원문 -> 형태 캐시
+    private final Map<String, String> shapes = new ConcurrentHashMap<>();
+
+    public SqlStatistics(SqlProperties properties) {
+        this.slowThresholdNanos = properties.slowThreshold().toNanos();
+        this.sampleRate = properties.sampleRate();
+        this.maxShapes = properties.maxShapes();
+    }
+
+    public void record(String sql, long nanos, boolean failed) {
+        String shape = shapeOf(sql);
+        aggregates.computeIfAbsent(shape, key -> new Aggregate()).record(nanos, failed);
+
+        if (nanos >= slowThresholdNanos) {
+            log.warn("slow query {}ms{}: {}", nanos / 1_000_000, failed ? " (failed)" : "", shape);
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info("sampled query {}us: {}", nanos / 1_000, shape);
+        }
+    }
+
+    public List<SqlStatementStats> snapshot() {
+        return aggregates.entrySet().stream()
+                .map(entry -> entry.getValue().toStats(entry.getKey()))
+                .sorted(Comparator.comparingDouble(SqlStatementStats::totalMillis).reversed())
+                .toList();
+    }
+
+    public void reset() {
+        aggregates.clear();
+    }
+
+    private String shapeOf(String sql) {
+        String shape = shapes.get(sql);
+        if (shape != null) {
+            return shape;
+        }
+        shape = normalize(sql);
+        if (!aggregates.containsKey(shape) && aggregates.size() >= maxShapes) {
+            shape = otherShape;
+        }
+        if (shapes.size() < maxShapes * 4) {
+            shapes.put(sql, shape);
+        }
+        return shape;
+    }
+
+    static String normalize(String sql) {
+        String shape = stringLiteral.matcher(sql).replaceAll("?");
+        shape = numberLiteral.matcher(shape).replaceAll("?");
+        shape = inList.matcher(shape).replaceAll("(?)");
+        return whitespace.matcher(shape).replaceAll(" ").trim();
+    }
+
+    // 2의 거듭제곱 마이크로초 구간 히스토그램, 백분위수는 구간 상한으로 근사한다.
+    private static class Aggregate {
+
+        private static final int buckets = 32;
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final AtomicLongArray histogram = new AtomicLongArray(buckets);
+
+        void record(long nanos, boolean failed) {
+            count.increment();
+            if (failed) {
+                errors.increment();
+            }
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            histogram.incrementAndGet(bucketOf(nanos));
+        }
+
+        SqlStatementStats toStats(String shape) {
+            long n = count.sum();
+            long total = totalNanos.sum();
+            return new SqlStatementStats(
+                    shape,
+                    n,
+                    errors.sum(),
+                    millis(total),
+                    n == 0 ? 0 : millis(total / n),
+                    millis(maxNanos.get()),
+                    percentile(n, 0.50),
+                    percentile(n, 0.95),
+                    percentile(n, 0.99)
+            );
+        }
+
+        private double percentile(long n, double quantile) {
+            long rank = (long) Math.ceil(n * quantile);
+            long seen = 0;
+            for (int i = 0; i < buckets; i++) {
+                seen += histogram.get(i);
+                if (seen >= rank && seen > 0) {
+                    return Math.min(millis((1L << i) * 1_000), millis(maxNanos.get()));
+                }
+            }
+            return millis(maxNanos.get());
+        }
+
+        private static int bucketOf(long nanos) {
+            long micros = Math.max(1, nanos / 1_000);
+            return Math.min(buckets - 1, 64 - Long.numberOfLeadingZeros(micros - 1));
+        }
+
+        private static double millis(long nanos) {
+            return Math.round(nanos / 1_000.0) / 1_000.0;
+        }
+    }
+}
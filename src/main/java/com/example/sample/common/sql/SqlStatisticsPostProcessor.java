@@ -0,0 +1,122 @@
+package com.example.sample.common.sql;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+// DataSource 를 감싸서 Statement 의 execute* 호출 시간을 SqlStatistics 로 보낸다.
+// Hibernate StatementInspector 는 prepare 전에 SQL 만 볼 수 있어서 실행 시간은 JDBC 단에서 잰다.
+@Component
+public class SqlStatisticsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SqlStatistics> sqlStatistics;
+
+    public SqlStatisticsPostProcessor(ObjectProvider<SqlStatistics> sqlStatistics) {
+        this.sqlStatistics = sqlStatistics;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !Proxy.isProxyClass(bean.getClass())) {
+            // Closeable 등 원본의 인터페이스를 그대로 유지해야 종료 시 close 가 호출된다.
+            Class<?>[] interfaces = ClassUtils.getAllInterfacesForClassAsSet(bean.getClass()).stream()
+                    .filter(type -> Modifier.isPublic(type.getModifiers()))
+                    .toArray(Class<?>[]::new);
+            return proxy(DataSource.class, interfaces, dataSource, (target, method, args) -> {
+                Object result = invoke(target, method, args);
+                return result instanceof Connection connection ? wrap(connection) : result;
+            });
+        }
+        return bean;
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof CallableStatement statement) {
+                return wrap(CallableStatement.class, statement, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return wrap(PreparedStatement.class, statement, (String) args[0]);
+            }
+            if (result instanceof Statement statement) {
+                return wrap(Statement.class, statement, null);
+            }
+            return result;
+        });
+    }
+
+    private <T extends Statement> T wrap(Class<T> type, T statement, String preparedSql) {
+        SqlStatistics statistics = sqlStatistics.getObject();
+        String[] batchSql = new String[1];
+
+        return proxy(type, statement, (target, method, args) -> {
+            String name = method.getName();
+            if (name.equals("addBatch") && args != null && args.length == 1) {
+                batchSql[0] = (String) args[0];
+            }
+            if (!name.startsWith("execute")) {
+                return invoke(target, method, args);
+            }
+
+            String sql = preparedSql != null ? preparedSql
+                    : args != null && args.length > 0 && args[0] instanceof String s ? s
+                    : batchSql[0];
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = invoke(target, method, args);
+                failed = false;
+                return result;
+            } finally {
+                if (sql != null) {
+                    statistics.record(sql, System.nanoTime() - start, failed);
+                }
+            }
+        });
+    }
+
+    private interface Handler<T> {
+        Object handle(T target, Method method, Object[] args) throws Throwable;
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Handler<T> handler) {
+        return proxy(type, new Class<?>[]{type}, target, handler);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Class<?>[] interfaces, T target, Handler<T> handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            // unwrap / isWrapperFor 는 원본이 처리한다. (Hikari 메트릭 등에서 HikariDataSource 를 찾는다)
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> invoke(target, method, args);
+                };
+            }
+            return handler.handle(target, method, args);
+        };
+        return (T) Proxy.newProxyInstance(SqlStatisticsPostProcessor.class.getClassLoader(), interfaces, invocationHandler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,1330 @@
+package com.example.sample.customer;
+
+import com.example.sample.common.exception.Common400Exception;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.data.support.ExampleMatcherAccessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// customer.columnar.enabled 일 때 JPA 대신 쓰는 메모리 컬럼 저장소 (데이터가 메모리에 들어가는 읽기 위주 노드용)
+// - 행 객체 없이 컬럼별 배열에 담는다. id / version 은 long[], 이름 / 번호는 UTF-8 바이트 arena 에 이어 붙이고 행마다 (offset << 32 | length) 만 둔다.
+// - 행은 id 순서로 쌓인다. (id 는 증가만 한다) 삭제는 표시만 해 두고, 지운 행이나 arena 의 버려진 바이트가 절반을 넘으면 압축한다.
+// - 단건 조회는 StampedLock 낙관적 읽기로 잠금 없이, 목록 / 검색은 공유 읽기 잠금으로 읽고, 쓰기만 서로 막는다.
+//   arena 는 이어 쓰기만 하고 압축할 때는 새 배열을 만들기 때문에, 검증을 통과한 (offset, length) 의 바이트는 바뀌지 않는다.
+// - 시작할 때 스냅샷이 있으면 스냅샷을, 없으면 spring.datasource 의 customer 테이블을 읽는다.
+//   이후 변경은 메모리와 스냅샷에만 남고 DB 에는 다시 쓰지 않으므로, 스냅샷 경로 없이는 시작하지 않는다.
+// - 트랜잭션에 참여하지 않는다. (롤백되지 않는다) saveAll 은 모두 확인한 뒤 한 번에 넣어서 일부만 저장되지 않게 한다.
+@Component
+@Primary
+@ConditionalOnProperty(prefix = "customer.columnar", name = "enabled", havingValue = "true")
+@DependsOnDatabaseInitialization
+public class ColumnarCustomerRepository implements CustomerRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(ColumnarCustomerRepository.class);
+
+    // "CUST"
+    private static final int snapshotMagic = 0x43555354;
+    private static final int snapshotFormat = 1;
+
+    private static final int initialCapacity = 1024;
+    private static final int streamChunkSize = 500;
+
+    private static final int idColumn = 0;
+    private static final int nameColumn = 1;
+    private static final int telColumn = 2;
+    private static final Map<String, Integer> sortable = Map.of("id", idColumn, "name", nameColumn, "tel", telColumn);
+
+    @FunctionalInterface
+    private interface RowComparator {
+        int compare(int a, int b);
+    }
+
+    // 정렬별 행 순서, 만든 뒤 변경(modCount)이 없을 때만 쓴다.
+    private record SortedRows(long modCount, int[] rows) {}
+
+    private final StampedLock lock = new StampedLock();
+    private final Map<Sort, SortedRows> sortedRows = new ConcurrentHashMap<>();
+    private final Path snapshotPath;
+    private final ScheduledExecutorService snapshotExecutor;
+
+    // 아래는 lock 으로 보호한다. (낙관적 읽기는 validate 로 확인)
+    private long[] ids = new long[initialCapacity];
+    private long[] versions = new long[initialCapacity];
+    private long[] nameRefs = new long[initialCapacity];
+    private long[] telRefs = new long[initialCapacity];
+    private long[] deleted = new long[initialCapacity / 64];
+    private byte[] names = new byte[initialCapacity * 16];
+    private byte[] tels = new byte[initialCapacity * 12];
+    private int namesSize;
+    private int telsSize;
+    private int garbageBytes;
+    private int size;
+    private int live;
+    private long nextId = 1;
+    private long modCount;
+    private long snapshotModCount;
+
+    // 번호 -> 행 (open addressing, 0 = 빈 칸, -1 = 지운 칸, 나머지 = 행 + 1), 절반 이상 차지 않게 유지한다.
+    private int[] telTable = new int[initialCapacity * 2];
+    private int telTableUsed;
+
+    @Autowired
+    public ColumnarCustomerRepository(CustomerProperties properties, DataSource dataSource) {
+        this(properties.columnar(), dataSource);
+    }
+
+    public ColumnarCustomerRepository(CustomerProperties.Columnar properties, DataSource dataSource) {
+        String path = properties.snapshotPath();
+        if (path == null || path.isBlank()) {
+            throw new IllegalStateException("customer.columnar.snapshot-path is required: "
+                    + "the columnar store never writes back to spring.datasource, so every write would be lost on restart");
+        }
+        this.snapshotPath = Path.of(path);
+
+        if (Files.exists(snapshotPath)) {
+            load(snapshotPath);
+            log.info("columnar customer store loaded {} rows from {}", live, snapshotPath);
+        } else {
+            new JdbcTemplate(dataSource).query("select id, name, tel, version from customer order by id", rs -> {
+                append(rs.getLong("id"), rs.getString("name"), rs.getString("tel"), rs.getLong("version"));
+            });
+            nextId = size == 0 ? 1 : ids[size - 1] + 1;
+            rebuildTelTable();
+            log.info("columnar customer store loaded {} rows from datasource", live);
+        }
+        snapshotModCount = modCount;
+
+        long interval = properties.snapshotInterval().toMillis();
+        if (interval > 0) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("customer-columnar-snapshot-");
+            threadFactory.setDaemon(true);
+            this.snapshotExecutor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+            this.snapshotExecutor.scheduleWithFixedDelay(this::snapshotIfChanged, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.snapshotExecutor = null;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (snapshotExecutor != null) {
+            snapshotExecutor.shutdownNow();
+        }
+        snapshotIfChanged();
+    }
+
+    // ---- 스냅샷
+
+    // 읽기 잠금 안에서 살아 있는 행만 컬럼별로 복사하고, 파일은 잠금 밖에서 임시 파일에 쓴 뒤 바꿔치기한다.
+    public void snapshot(Path path) throws IOException {
+        long[] snapshotIds;
+        long[] snapshotVersions;
+        int[] nameLengths;
+        int[] telLengths;
+        byte[] nameBytes;
+        byte[] telBytes;
+        long snapshotNextId;
+        long snapshotVersion;
+
+        long stamp = lock.readLock();
+        try {
+            snapshotIds = new long[live];
+            snapshotVersions = new long[live];
+            nameLengths = new int[live];
+            telLengths = new int[live];
+            int nameTotal = 0;
+            int telTotal = 0;
+            for (int row = 0; row < size; row++) {
+                if (!isDeleted(row)) {
+                    nameTotal += length(nameRefs[row]);
+                    telTotal += length(telRefs[row]);
+                }
+            }
+            nameBytes = new byte[nameTotal];
+            telBytes = new byte[telTotal];
+            int nameOffset = 0;
+            int telOffset = 0;
+            for (int row = 0, i = 0; row < size; row++) {
+                if (isDeleted(row)) {
+                    continue;
+                }
+                snapshotIds[i] = ids[row];
+                snapshotVersions[i] = versions[row];
+                nameLengths[i] = length(nameRefs[row]);
+                telLengths[i] = length(telRefs[row]);
+                System.arraycopy(names, offset(nameRefs[row]), nameBytes, nameOffset, nameLengths[i]);
+                System.arraycopy(tels, offset(telRefs[row]), telBytes, telOffset, telLengths[i]);
+                nameOffset += nameLengths[i];
+                telOffset += telLengths[i];
+                i++;
+            }
+            snapshotNextId = nextId;
+            snapshotVersion = modCount;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024))) {
+            out.writeInt(snapshotMagic);
+            out.writeInt(snapshotFormat);
+            out.writeLong(snapshotNextId);
+            out.writeInt(snapshotIds.length);
+            for (long id : snapshotIds) {
+                out.writeLong(id);
+            }
+            for (long version : snapshotVersions) {
+                out.writeLong(version);
+            }
+            for (int length : nameLengths) {
+                out.writeInt(length);
+            }
+            out.writeInt(nameBytes.length);
+            out.write(nameBytes);
+            for (int length : telLengths) {
+                out.writeInt(length);
+            }
+            out.writeInt(telBytes.length);
+            out.write(telBytes);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        synchronized (this) {
+            snapshotModCount = Math.max(snapshotModCount, snapshotVersion);
+        }
+    }
+
+    private synchronized void snapshotIfChanged() {
+        if (modCount() == snapshotModCount) {
+            return;
+        }
+        try {
+            snapshot(snapshotPath);
+        } catch (IOException | RuntimeException e) {
+            log.warn("columnar customer snapshot failed ({})", snapshotPath, e);
+        }
+    }
+
+    private void load(Path path) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 64 * 1024))) {
+            if (in.readInt() != snapshotMagic || in.readInt() != snapshotFormat) {
+                throw new IllegalStateException("not a customer snapshot: " + path);
+            }
+            nextId = in.readLong();
+            int count = in.readInt();
+            int capacity = Math.max(initialCapacity, count);
+            ids = new long[capacity];
+            versions = new long[capacity];
+            nameRefs = new long[capacity];
+            telRefs = new long[capacity];
+            deleted = new long[(capacity + 63) / 64];
+            for (int i = 0; i < count; i++) {
+                ids[i] = in.readLong();
+            }
+            for (int i = 0; i < count; i++) {
+                versions[i] = in.readLong();
+            }
+            names = readArena(in, count, nameRefs);
+            namesSize = names.length;
+            tels = readArena(in, count, telRefs);
+            telsSize = tels.length;
+            size = count;
+            live = count;
+            rebuildTelTable();
+        } catch (IOException e) {
+            throw new IllegalStateException("customer snapshot load failed: " + path, e);
+        }
+    }
+
+    // 길이 목록 + 바이트 묶음을 읽어 refs 를 채운다.
+    private static byte[] readArena(DataInputStream in, int count, long[] refs) throws IOException {
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            int length = in.readInt();
+            refs[i] = ref(offset, length);
+            offset += length;
+        }
+        byte[] arena = new byte[Math.max(in.readInt(), 16)];
+        in.readFully(arena, 0, offset);
+        return arena;
+    }
+
+    // ---- 단건 조회 (낙관적 읽기)
+
+    @Override
+    public Optional<CustomerEntity> findById(Long id) {
+        return optimisticRead(() -> {
+            int row = row(id);
+            return row < 0 ? Optional.empty() : Optional.of(entity(row));
+        });
+    }
+
+    @Override
+    public Optional<Long> findVersionById(Long id) {
+        return optimisticRead(() -> {
+            int row = row(id);
+            return row < 0 ? Optional.empty() : Optional.of(versions[row]);
+        });
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return optimisticRead(() -> row(id) >= 0);
+    }
+
+    @Override
+    public boolean existsByTel(String tel) {
+        byte[] bytes = tel.getBytes(StandardCharsets.UTF_8);
+        return optimisticRead(() -> telRow(bytes) >= 0);
+    }
+
+    @Override
+    public boolean existsByTelAndIdNot(String tel, Long id) {
+        byte[] bytes = tel.getBytes(StandardCharsets.UTF_8);
+        return optimisticRead(() -> {
+            int row = telRow(bytes);
+            return row >= 0 && ids[row] != id;
+        });
+    }
+
+    @Override
+    public List<CustomerDTO> findByTel(String tel) {
+        byte[] bytes = tel.getBytes(StandardCharsets.UTF_8);
+        return optimisticRead(() -> {
+            int row = telRow(bytes);
+            return row < 0 ? List.of() : List.of(dto(row, CustomerField.all()));
+        });
+    }
+
+    @Override
+    public long count() {
+        return optimisticRead(() -> (long) live);
+    }
+
+    // ---- 목록 / 검색 (읽기 잠금)
+
+    @Override
+    public Page<CustomerDTO> findAllDTO(Set<CustomerField> fields, Pageable pageable) {
+        return read(() -> new PageImpl<>(dtos(page(pageable, 0), fields), pageable, live));
+    }
+
+    @Override
+    public Slice<CustomerDTO> findAllDTOSlice(Set<CustomerField> fields, Pageable pageable) {
+        return read(() -> {
+            int[] rows = page(pageable, 1);
+            boolean hasNext = pageable.isPaged() && rows.length > pageable.getPageSize();
+            return new SliceImpl<>(dtos(hasNext ? Arrays.copyOf(rows, pageable.getPageSize()) : rows, fields), pageable, hasNext);
+        });
+    }
+
+    @Override
+    public Page<CustomerEntity> findAll(Pageable pageable) {
+        return read(() -> new PageImpl<>(entities(page(pageable, 0)), pageable, live));
+    }
+
+    @Override
+    public List<CustomerEntity> findAll(Sort sort) {
+        return read(() -> entities(sorted(sort, 0, Integer.MAX_VALUE)));
+    }
+
+    @Override
+    public List<CustomerEntity> findAll() {
+        return findAll(Sort.unsorted());
+    }
+
+    @Override
+    public List<CustomerEntity> findAllById(Iterable<Long> ids) {
+        return read(() -> {
+            List<CustomerEntity> found = new ArrayList<>();
+            for (Long id : ids) {
+                int row = row(id);
+                if (row >= 0) {
+                    found.add(entity(row));
+                }
+            }
+            return found;
+        });
+    }
+
+    @Override
+    public List<CustomerDTO> findAllDTOByIdIn(Collection<Long> ids) {
+        return read(() -> {
+            List<CustomerDTO> found = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                int row = row(id);
+                if (row >= 0) {
+                    found.add(dto(row, CustomerField.all()));
+                }
+            }
+            return found;
+        });
+    }
+
+    @Override
+    public List<CustomerDTO> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable) {
+        return read(() -> {
+            List<CustomerDTO> found = new ArrayList<>();
+            for (int row = firstRowAfter(id); row < size && found.size() < pageable.getPageSize(); row++) {
+                if (!isDeleted(row)) {
+                    found.add(dto(row, CustomerField.all()));
+                }
+            }
+            return found;
+        });
+    }
+
+    @Override
+    public List<CustomerDTO> findByIdLessThanOrderByIdDesc(Long id, Pageable pageable) {
+        return read(() -> {
+            List<CustomerDTO> found = new ArrayList<>();
+            int insertion = Arrays.binarySearch(ids, 0, size, id);
+            int start = insertion >= 0 ? insertion - 1 : -insertion - 2;
+            for (int row = start; row >= 0 && found.size() < pageable.getPageSize(); row--) {
+                if (!isDeleted(row)) {
+                    found.add(dto(row, CustomerField.all()));
+                }
+            }
+            return found;
+        });
+    }
+
+    // 번호 색인은 정확히 일치만 찾을 수 있어서 앞부분 일치는 전체를 훑고 일치한 행만 정렬한다.
+    @Override
+    public List<CustomerDTO> findByTelStartingWithOrderByTelAscIdAsc(String prefix, Pageable pageable) {
+        byte[] bytes = prefix.getBytes(StandardCharsets.UTF_8);
+        return read(() -> {
+            int[] matches = new int[16];
+            int count = 0;
+            for (int row = 0; row < size; row++) {
+                long ref = telRefs[row];
+                if (!isDeleted(row) && length(ref) >= bytes.length
+                        && Arrays.equals(tels, offset(ref), offset(ref) + bytes.length, bytes, 0, bytes.length)) {
+                    if (count == matches.length) {
+                        matches = Arrays.copyOf(matches, count * 2);
+                    }
+                    matches[count++] = row;
+                }
+            }
+            int[] rows = Arrays.copyOf(matches, count);
+            mergeSort(rows, comparator(Sort.by("tel")));
+            return dtos(Arrays.copyOf(rows, Math.min(rows.length, pageable.getPageSize())), CustomerField.all());
+        });
+    }
+
+    // 읽기 잠금은 chunk 를 읽는 동안만 잡는다. 다음 chunk 는 마지막 id 다음부터 읽으므로 압축되어도 이어진다.
+    @Override
+    public Stream<CustomerDTO> streamAllDTO() {
+        return streamAll(row -> dto(row, CustomerField.all()));
+    }
+
+    @Override
+    public Stream<String> streamAllTel() {
+        return streamAll(row -> string(tels, telRefs[row]));
+    }
+
+    // ---- 쓰기 (쓰기 잠금)
+
+    @Override
+    public <S extends CustomerEntity> S save(S entity) {
+        return write(() -> saveOne(entity));
+    }
+
+    @Override
+    public <S extends CustomerEntity> S saveAndFlush(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends CustomerEntity> List<S> saveAll(Iterable<S> entities) {
+        List<S> list = new ArrayList<>();
+        entities.forEach(list::add);
+        return write(() -> {
+            checkUniqueTels(list);
+            List<S> saved = new ArrayList<>(list.size());
+            for (S entity : list) {
+                saved.add(saveOne(entity));
+            }
+            return saved;
+        });
+    }
+
+    @Override
+    public <S extends CustomerEntity> List<S> saveAllAndFlush(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public int updateCustomer(Long id, String name, String tel) {
+        return write(() -> {
+            int row = row(id);
+            if (row < 0) {
+                return 0;
+            }
+            update(row, name, tel);
+            return 1;
+        });
+    }
+
+    @Override
+    public int updateCustomerIfVersion(Long id, Long version, String name, String tel) {
+        return write(() -> {
+            int row = row(id);
+            if (row < 0 || versions[row] != version) {
+                return 0;
+            }
+            update(row, name, tel);
+            return 1;
+        });
+    }
+
+    @Override
+    public int deleteCustomer(Long id) {
+        return write(() -> deleteRow(row(id)));
+    }
+
+    @Override
+    public int deleteCustomerIfVersion(Long id, Long version) {
+        return write(() -> {
+            int row = row(id);
+            return row >= 0 && versions[row] == version ? deleteRow(row) : 0;
+        });
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        deleteCustomer(id);
+    }
+
+    @Override
+    public void delete(CustomerEntity entity) {
+        deleteCustomer(entity.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        write(() -> {
+            ids.forEach(id -> deleteRow(row(id)));
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends CustomerEntity> entities) {
+        write(() -> {
+            entities.forEach(entity -> deleteRow(row(entity.getId())));
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteAll() {
+        write(() -> {
+            for (int row = 0; row < size; row++) {
+                deleteRow(row);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<CustomerEntity> entities) {
+        deleteAll(entities);
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        deleteAllById(ids);
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        deleteAll();
+    }
+
+    @Override
+    @Deprecated
+    public CustomerEntity getOne(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    @Deprecated
+    public CustomerEntity getById(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    public CustomerEntity getReferenceById(Long id) {
+        return findById(id).orElseThrow(() -> new EntityNotFoundException("customer " + id));
+    }
+
+    // ---- Example 조회 (id / name / tel / version 을 probe 와 비교하며 훑는다)
+
+    @Override
+    public <S extends CustomerEntity> Optional<S> findOne(Example<S> example) {
+        return Optional.ofNullable(new ExampleQuery<>(example, Sort.unsorted(), this::<S>cast).oneValue());
+    }
+
+    @Override
+    public <S extends CustomerEntity> List<S> findAll(Example<S> example) {
+        return findAll(example, Sort.unsorted());
+    }
+
+    @Override
+    public <S extends CustomerEntity> List<S> findAll(Example<S> example, Sort sort) {
+        return new ExampleQuery<>(example, sort, this::<S>cast).all();
+    }
+
+    @Override
+    public <S extends CustomerEntity> Page<S> findAll(Example<S> example, Pageable pageable) {
+        return new ExampleQuery<>(example, Sort.unsorted(), this::<S>cast).page(pageable);
+    }
+
+    @Override
+    public <S extends CustomerEntity> long count(Example<S> example) {
+        return new ExampleQuery<>(example, Sort.unsorted(), this::<S>cast).count();
+    }
+
+    @Override
+    public <S extends CustomerEntity> boolean exists(Example<S> example) {
+        return new ExampleQuery<>(example, Sort.unsorted(), this::<S>cast).exists();
+    }
+
+    @Override
+    public <S extends CustomerEntity, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        return queryFunction.apply(new ExampleQuery<>(example, Sort.unsorted(), this::<S>cast));
+    }
+
+    // CustomerEntity 를 상속한 타입은 없으므로 S 는 CustomerEntity 이다.
+    @SuppressWarnings("unchecked")
+    private <S> S cast(CustomerEntity entity) {
+        return (S) entity;
+    }
+
+    // as() 는 CustomerEntity / CustomerDTO 만, project() 는 (JPA 와 같이) 힌트로만 받는다.
+    private class ExampleQuery<T> implements FluentQuery.FetchableFluentQuery<T> {
+
+        private final Example<? extends CustomerEntity> example;
+        private final Sort sort;
+        private final Function<CustomerEntity, T> mapper;
+
+        ExampleQuery(Example<? extends CustomerEntity> example, Sort sort, Function<CustomerEntity, T> mapper) {
+            this.example = example;
+            this.sort = sort;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<T> sortBy(Sort sort) {
+            return new ExampleQuery<>(example, this.sort.and(sort), mapper);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <R> FluentQuery.FetchableFluentQuery<R> as(Class<R> resultType) {
+            if (resultType.isAssignableFrom(CustomerEntity.class)) {
+                return new ExampleQuery<>(example, sort, entity -> (R) entity);
+            }
+            if (resultType == CustomerDTO.class) {
+                return new ExampleQuery<>(example, sort, entity -> (R) entity.toDTO());
+            }
+            throw new UnsupportedOperationException("columnar customer store cannot project to " + resultType.getName());
+        }
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<T> project(Collection<String> properties) {
+            return this;
+        }
+
+        @Override
+        public T oneValue() {
+            List<T> found = all();
+            if (found.size() > 1) {
+                throw new IncorrectResultSizeDataAccessException(1, found.size());
+            }
+            return found.isEmpty() ? null : found.get(0);
+        }
+
+        @Override
+        public T firstValue() {
+            List<T> found = page(PageRequest.of(0, 1, Sort.unsorted())).getContent();
+            return found.isEmpty() ? null : found.get(0);
+        }
+
+        @Override
+        public List<T> all() {
+            return read(() -> map(matching(example, sort)));
+        }
+
+        @Override
+        public Page<T> page(Pageable pageable) {
+            return read(() -> {
+                int[] rows = matching(example, sort.and(pageable.getSort()));
+                if (pageable.isUnpaged()) {
+                    return new PageImpl<>(map(rows), pageable, rows.length);
+                }
+                int from = (int) Math.min(pageable.getOffset(), rows.length);
+                int to = Math.min(from + pageable.getPageSize(), rows.length);
+                return new PageImpl<>(map(Arrays.copyOfRange(rows, from, to)), pageable, rows.length);
+            });
+        }
+
+        @Override
+        public Stream<T> stream() {
+            return all().stream();
+        }
+
+        @Override
+        public long count() {
+            return read(() -> (long) matching(example, Sort.unsorted()).length);
+        }
+
+        @Override
+        public boolean exists() {
+            return count() > 0;
+        }
+
+        private List<T> map(int[] rows) {
+            List<T> mapped = new ArrayList<>(rows.length);
+            for (int row : rows) {
+                mapped.add(mapper.apply(entity(row)));
+            }
+            return mapped;
+        }
+    }
+
+    // ---- 잠금
+
+    // 잠금 없이 읽고, 그 사이 쓰기가 있었으면 (또는 쓰기와 겹쳐 어긋난 배열을 만나면) 읽기 잠금을 잡고 다시 읽는다.
+    private <T> T optimisticRead(Supplier<T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = reader.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // 아래에서 잠금을 잡고 다시 읽는다.
+            }
+        }
+        return read(reader);
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        long stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // 압축하면 행 번호가 바뀌므로, 행 번호로 결과를 다 만든 뒤 쓰기 잠금을 풀기 직전에 한 번만 압축한다.
+    private <T> T write(Supplier<T> writer) {
+        long stamp = lock.writeLock();
+        try {
+            T result = writer.get();
+            compactIfNeeded();
+            return result;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private long modCount() {
+        return optimisticRead(() -> modCount);
+    }
+
+    // ---- 행 (잠금 안에서 호출)
+
+    // id 의 행, 없거나 지웠으면 -1
+    private int row(Long id) {
+        if (id == null) {
+            return -1;
+        }
+        int row = Arrays.binarySearch(ids, 0, size, id);
+        return row >= 0 && !isDeleted(row) ? row : -1;
+    }
+
+    private int firstRowAfter(long id) {
+        int insertion = Arrays.binarySearch(ids, 0, size, id);
+        return insertion >= 0 ? insertion + 1 : -insertion - 1;
+    }
+
+    private boolean isDeleted(int row) {
+        return (deleted[row >>> 6] & (1L << row)) != 0;
+    }
+
+    private CustomerEntity entity(int row) {
+        return new CustomerEntity(ids[row], string(names, nameRefs[row]), string(tels, telRefs[row]), versions[row]);
+    }
+
+    private CustomerDTO dto(int row, Set<CustomerField> fields) {
+        return new CustomerDTO(
+                ids[row],
+                fields.contains(CustomerField.NAME) ? string(names, nameRefs[row]) : null,
+                fields.contains(CustomerField.TEL) ? string(tels, telRefs[row]) : null
+        );
+    }
+
+    private List<CustomerDTO> dtos(int[] rows, Set<CustomerField> fields) {
+        List<CustomerDTO> dtos = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            dtos.add(dto(row, fields));
+        }
+        return dtos;
+    }
+
+    private List<CustomerEntity> entities(int[] rows) {
+        List<CustomerEntity> entities = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            entities.add(entity(row));
+        }
+        return entities;
+    }
+
+    private int[] page(Pageable pageable, int extra) {
+        return pageable.isPaged()
+                ? sorted(pageable.getSort(), pageable.getOffset(), pageable.getPageSize() + extra)
+                : sorted(pageable.getSort(), 0, Integer.MAX_VALUE);
+    }
+
+    // 정렬 순서로 offset 번째부터 limit 개의 행, id 순서는 행 순서 그대로, 그 밖의 정렬은 만들어 둔 순서를 쓴다.
+    private int[] sorted(Sort sort, long offset, int limit) {
+        // 마지막 페이지 뒤 (int 를 넘는 offset 포함)
+        if (offset >= live) {
+            return new int[0];
+        }
+        int count = (int) Math.max(0, Math.min(limit, live - offset));
+        int[] rows = new int[count];
+        Sort.Order first = sort.iterator().hasNext() ? sort.iterator().next() : null;
+        if (first == null || (column(first.getProperty()) == idColumn)) {
+            boolean ascending = first == null || first.isAscending();
+            long skipped = 0;
+            int found = 0;
+            for (int i = 0; i < size && found < count; i++) {
+                int row = ascending ? i : size - 1 - i;
+                if (isDeleted(row)) {
+                    continue;
+                }
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    rows[found++] = row;
+                }
+            }
+            return rows;
+        }
+
+        int[] order = sortedRows(sort);
+        System.arraycopy(order, (int) offset, rows, 0, count);
+        return rows;
+    }
+
+    private int[] sortedRows(Sort sort) {
+        SortedRows cached = sortedRows.get(sort);
+        if (cached != null && cached.modCount() == modCount) {
+            return cached.rows();
+        }
+        int[] rows = new int[live];
+        for (int row = 0, i = 0; row < size; row++) {
+            if (!isDeleted(row)) {
+                rows[i++] = row;
+            }
+        }
+        mergeSort(rows, comparator(sort));
+        sortedRows.put(sort, new SortedRows(modCount, rows));
+        return rows;
+    }
+
+    // 문자열은 UTF-8 바이트 순서 (= 코드 포인트 순서) 로 비교하고, 같으면 id 순서
+    private RowComparator comparator(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        int[] columns = new int[orders.size()];
+        boolean[] ascending = new boolean[orders.size()];
+        for (int i = 0; i < orders.size(); i++) {
+            columns[i] = column(orders.get(i).getProperty());
+            ascending[i] = orders.get(i).isAscending();
+        }
+        return (a, b) -> {
+            for (int i = 0; i < columns.length; i++) {
+                int compared = switch (columns[i]) {
+                    case nameColumn -> compareBytes(names, nameRefs[a], nameRefs[b]);
+                    case telColumn -> compareBytes(tels, telRefs[a], telRefs[b]);
+                    default -> Long.compare(ids[a], ids[b]);
+                };
+                if (compared != 0) {
+                    return ascending[i] ? compared : -compared;
+                }
+            }
+            return Long.compare(ids[a], ids[b]);
+        };
+    }
+
+    private static int column(String property) {
+        Integer column = sortable.get(property);
+        if (column == null) {
+            throw new Common400Exception(CustomerConstant.invalidSortMessage);
+        }
+        return column;
+    }
+
+    // int[] 를 박싱 없이 정렬한다. (bottom-up merge sort)
+    private static void mergeSort(int[] rows, RowComparator comparator) {
+        int[] source = rows;
+        int[] target = new int[rows.length];
+        for (int width = 1; width < rows.length; width *= 2) {
+            for (int from = 0; from < rows.length; from += 2 * width) {
+                int middle = Math.min(from + width, rows.length);
+                int to = Math.min(from + 2 * width, rows.length);
+                int left = from;
+                int right = middle;
+                for (int i = from; i < to; i++) {
+                    if (left < middle && (right >= to || comparator.compare(source[left], source[right]) <= 0)) {
+                        target[i] = source[left++];
+                    } else {
+                        target[i] = source[right++];
+                    }
+                }
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != rows) {
+            System.arraycopy(source, 0, rows, 0, rows.length);
+        }
+    }
+
+    private <T> Stream<T> streamAll(IntFunction<T> reader) {
+        Iterator<T> iterator = new Iterator<>() {
+            private final ArrayDeque<T> buffer = new ArrayDeque<>(streamChunkSize);
+            private long lastId = Long.MIN_VALUE;
+            private boolean done;
+
+            @Override
+            public boolean hasNext() {
+                if (buffer.isEmpty() && !done) {
+                    read(() -> {
+                        int row = firstRowAfter(lastId);
+                        for (; row < size && buffer.size() < streamChunkSize; row++) {
+                            if (!isDeleted(row)) {
+                                buffer.add(reader.apply(row));
+                            }
+                            lastId = ids[row];
+                        }
+                        done = row >= size;
+                        return null;
+                    });
+                }
+                return !buffer.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return buffer.poll();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    // probe 와 일치하는 행 (id 순서, sort 가 있으면 그 순서), 읽기 잠금 안에서 호출
+    private int[] matching(Example<? extends CustomerEntity> example, Sort sort) {
+        List<IntPredicate> predicates = new ArrayList<>();
+        ExampleMatcherAccessor accessor = new ExampleMatcherAccessor(example.getMatcher());
+        CustomerEntity probe = example.getProbe();
+        addPredicate(predicates, accessor, "id", probe.getId(), row -> ids[row]);
+        addPredicate(predicates, accessor, "name", probe.getName(), row -> string(names, nameRefs[row]));
+        addPredicate(predicates, accessor, "tel", probe.getTel(), row -> string(tels, telRefs[row]));
+        addPredicate(predicates, accessor, "version", probe.getVersion(), row -> versions[row]);
+        boolean all = example.getMatcher().isAllMatching();
+
+        int[] matches = new int[16];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (isDeleted(row)) {
+                continue;
+            }
+            final int current = row;
+            boolean matched = predicates.isEmpty()
+                    || (all ? predicates.stream().allMatch(predicate -> predicate.test(current))
+                            : predicates.stream().anyMatch(predicate -> predicate.test(current)));
+            if (matched) {
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, count * 2);
+                }
+                matches[count++] = row;
+            }
+        }
+        int[] rows = Arrays.copyOf(matches, count);
+        if (sort.isSorted()) {
+            mergeSort(rows, comparator(sort));
+        }
+        return rows;
+    }
+
+    // 컬럼 값은 null 이 아니므로 NullHandler.INCLUDE 의 null 은 어떤 행과도 일치하지 않는다.
+    private static void addPredicate(List<IntPredicate> predicates, ExampleMatcherAccessor accessor, String path,
+                                     Object probeValue, IntFunction<Object> column) {
+        if (accessor.isIgnoredPath(path)) {
+            return;
+        }
+        Object value = accessor.getValueTransformerForPath(path).apply(Optional.ofNullable(probeValue)).orElse(null);
+        if (value == null) {
+            if (accessor.getNullHandler() == ExampleMatcher.NullHandler.INCLUDE) {
+                predicates.add(row -> false);
+            }
+            return;
+        }
+        if (!(value instanceof String text)) {
+            predicates.add(row -> value.equals(column.apply(row)));
+            return;
+        }
+
+        boolean ignoreCase = accessor.isIgnoreCaseForPath(path);
+        String expected = ignoreCase ? text.toLowerCase(Locale.ROOT) : text;
+        ExampleMatcher.StringMatcher matcher = accessor.getStringMatcherForPath(path);
+        Pattern pattern = matcher == ExampleMatcher.StringMatcher.REGEX
+                ? Pattern.compile(text, ignoreCase ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE : 0)
+                : null;
+        predicates.add(row -> {
+            String actual = (String) column.apply(row);
+            String compared = ignoreCase ? actual.toLowerCase(Locale.ROOT) : actual;
+            return switch (matcher) {
+                case STARTING -> compared.startsWith(expected);
+                case ENDING -> compared.endsWith(expected);
+                case CONTAINING -> compared.contains(expected);
+                case REGEX -> pattern.matcher(actual).matches();
+                default -> compared.equals(expected);
+            };
+        });
+    }
+
+    // ---- 쓰기 (쓰기 잠금 안에서 호출, 압축은 write 가 마지막에 한다)
+
+    // JPA 의 persist / merge 와 같이 id 가 없으면 넘긴 entity 에 id 와 version 을 채워 돌려주고,
+    // id 가 있으면 넘긴 entity 는 그대로 두고 저장된 값의 복사본을 돌려준다. 바뀐 값이 없으면 version 도 올리지 않는다.
+    @SuppressWarnings("unchecked")
+    private <S extends CustomerEntity> S saveOne(S entity) {
+        int row = row(entity.getId());
+        if (row < 0) {
+            checkTelAvailable(entity.getTel(), -1);
+            row = append(nextId++, entity.getName(), entity.getTel(), 0);
+            putTel(row);
+            modCount++;
+            if (entity.getId() == null) {
+                entity.setId(ids[row]);
+                entity.setVersion(versions[row]);
+                return entity;
+            }
+            return (S) entity(row);
+        }
+
+        if (entity.getVersion() != null && entity.getVersion() != versions[row]) {
+            throw new ObjectOptimisticLockingFailureException(CustomerEntity.class, entity.getId());
+        }
+        if (!entity.getName().equals(string(names, nameRefs[row])) || !entity.getTel().equals(string(tels, telRefs[row]))) {
+            update(row, entity.getName(), entity.getTel());
+        }
+        return (S) entity(row);
+    }
+
+    // 저장 전에 한 번에 확인해서 중복이 있으면 아무것도 저장하지 않는다.
+    private void checkUniqueTels(List<? extends CustomerEntity> entities) {
+        Set<String> batch = new HashSet<>();
+        for (CustomerEntity entity : entities) {
+            if (!batch.add(entity.getTel())) {
+                throw new DataIntegrityViolationException("uk_customer_tel: " + entity.getTel());
+            }
+            checkTelAvailable(entity.getTel(), row(entity.getId()));
+        }
+    }
+
+    private void checkTelAvailable(String tel, int ownRow) {
+        int row = telRow(tel.getBytes(StandardCharsets.UTF_8));
+        if (row >= 0 && row != ownRow) {
+            throw new DataIntegrityViolationException("uk_customer_tel: " + tel);
+        }
+    }
+
+    private void update(int row, String name, String tel) {
+        if (!tel.equals(string(tels, telRefs[row]))) {
+            checkTelAvailable(tel, row);
+            removeTel(row);
+            garbageBytes += length(telRefs[row]);
+            telRefs[row] = appendTel(tel.getBytes(StandardCharsets.UTF_8));
+            putTel(row);
+        }
+        if (!name.equals(string(names, nameRefs[row]))) {
+            garbageBytes += length(nameRefs[row]);
+            nameRefs[row] = appendName(name.getBytes(StandardCharsets.UTF_8));
+        }
+        versions[row]++;
+        modCount++;
+    }
+
+    private int deleteRow(int row) {
+        if (row < 0 || isDeleted(row)) {
+            return 0;
+        }
+        removeTel(row);
+        deleted[row >>> 6] |= 1L << row;
+        garbageBytes += length(nameRefs[row]) + length(telRefs[row]);
+        live--;
+        modCount++;
+        return 1;
+    }
+
+    private int append(long id, String name, String tel, long version) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            nameRefs = Arrays.copyOf(nameRefs, capacity);
+            telRefs = Arrays.copyOf(telRefs, capacity);
+            deleted = Arrays.copyOf(deleted, (capacity + 63) / 64);
+        }
+        int row = size;
+        ids[row] = id;
+        versions[row] = version;
+        nameRefs[row] = appendName(name.getBytes(StandardCharsets.UTF_8));
+        telRefs[row] = appendTel(tel.getBytes(StandardCharsets.UTF_8));
+        size++;
+        live++;
+        return row;
+    }
+
+    private long appendName(byte[] bytes) {
+        if (namesSize + bytes.length > names.length) {
+            names = Arrays.copyOf(names, Math.max(names.length * 2, namesSize + bytes.length));
+        }
+        System.arraycopy(bytes, 0, names, namesSize, bytes.length);
+        namesSize += bytes.length;
+        return ref(namesSize - bytes.length, bytes.length);
+    }
+
+    private long appendTel(byte[] bytes) {
+        if (telsSize + bytes.length > tels.length) {
+            tels = Arrays.copyOf(tels, Math.max(tels.length * 2, telsSize + bytes.length));
+        }
+        System.arraycopy(bytes, 0, tels, telsSize, bytes.length);
+        telsSize += bytes.length;
+        return ref(telsSize - bytes.length, bytes.length);
+    }
+
+    // 지운 행이 절반을 넘거나 arena 의 버려진 바이트가 절반을 넘으면 살아 있는 행만 새 배열로 옮긴다.
+    private void compactIfNeeded() {
+        boolean rows = size - live > Math.max(initialCapacity, size / 2);
+        boolean bytes = garbageBytes > Math.max(initialCapacity * 16, (namesSize + telsSize) / 2);
+        if (!rows && !bytes) {
+            return;
+        }
+
+        int capacity = Math.max(initialCapacity, live * 2);
+        long[] newIds = new long[capacity];
+        long[] newVersions = new long[capacity];
+        long[] newNameRefs = new long[capacity];
+        long[] newTelRefs = new long[capacity];
+        byte[] newNames = new byte[Math.max(16, namesSize * 2)];
+        byte[] newTels = new byte[Math.max(16, telsSize * 2)];
+        int newNamesSize = 0;
+        int newTelsSize = 0;
+        int newSize = 0;
+        for (int row = 0; row < size; row++) {
+            if (isDeleted(row)) {
+                continue;
+            }
+            newIds[newSize] = ids[row];
+            newVersions[newSize] = versions[row];
+            int nameLength = length(nameRefs[row]);
+            System.arraycopy(names, offset(nameRefs[row]), newNames, newNamesSize, nameLength);
+            newNameRefs[newSize] = ref(newNamesSize, nameLength);
+            newNamesSize += nameLength;
+            int telLength = length(telRefs[row]);
+            System.arraycopy(tels, offset(telRefs[row]), newTels, newTelsSize, telLength);
+            newTelRefs[newSize] = ref(newTelsSize, telLength);
+            newTelsSize += telLength;
+            newSize++;
+        }
+
+        ids = newIds;
+        versions = newVersions;
+        nameRefs = newNameRefs;
+        telRefs = newTelRefs;
+        deleted = new long[(capacity + 63) / 64];
+        names = newNames;
+        tels = newTels;
+        namesSize = newNamesSize;
+        telsSize = newTelsSize;
+        garbageBytes = 0;
+        size = newSize;
+        modCount++;
+        rebuildTelTable();
+    }
+
+    // ---- 번호 색인
+
+    // 번호가 같은 (지우지 않은) 행, 없으면 -1, 낙관적 읽기에서도 끝나도록 최대 표 크기만큼만 찾는다.
+    private int telRow(byte[] tel) {
+        int[] table = telTable;
+        int mask = table.length - 1;
+        int slot = hash(tel, 0, tel.length) & mask;
+        for (int probe = 0; probe <= mask; probe++, slot = (slot + 1) & mask) {
+            int entry = table[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            if (entry > 0) {
+                long ref = telRefs[entry - 1];
+                if (Arrays.equals(tels, offset(ref), offset(ref) + length(ref), tel, 0, tel.length)) {
+                    return entry - 1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void putTel(int row) {
+        if ((telTableUsed + 1) * 2 > telTable.length) {
+            rebuildTelTable();
+        }
+        int mask = telTable.length - 1;
+        long ref = telRefs[row];
+        int slot = hash(tels, offset(ref), length(ref)) & mask;
+        while (telTable[slot] > 0) {
+            slot = (slot + 1) & mask;
+        }
+        if (telTable[slot] == 0) {
+            telTableUsed++;
+        }
+        telTable[slot] = row + 1;
+    }
+
+    private void removeTel(int row) {
+        int mask = telTable.length - 1;
+        long ref = telRefs[row];
+        int slot = hash(tels, offset(ref), length(ref)) & mask;
+        for (int probe = 0; probe <= mask && telTable[slot] != 0; probe++, slot = (slot + 1) & mask) {
+            if (telTable[slot] == row + 1) {
+                telTable[slot] = -1;
+                return;
+            }
+        }
+    }
+
+    // 지운 칸을 비우고 살아 있는 행 수의 네 배 크기로 다시 만든다.
+    private void rebuildTelTable() {
+        int capacity = Integer.highestOneBit(Math.max(initialCapacity, live * 4 - 1)) * 2;
+        int[] table = new int[capacity];
+        int mask = capacity - 1;
+        for (int row = 0; row < size; row++) {
+            if (isDeleted(row)) {
+                continue;
+            }
+            long ref = telRefs[row];
+            int slot = hash(tels, offset(ref), length(ref)) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = row + 1;
+        }
+        telTable = table;
+        telTableUsed = live;
+    }
+
+    // ---- arena
+
+    private static long ref(int offset, int length) {
+        return ((long) offset << 32) | length;
+    }
+
+    private static int offset(long ref) {
+        return (int) (ref >>> 32);
+    }
+
+    private static int length(long ref) {
+        return (int) ref;
+    }
+
+    private static String string(byte[] arena, long ref) {
+        return new String(arena, offset(ref), length(ref), StandardCharsets.UTF_8);
+    }
+
+    private static int compareBytes(byte[] arena, long a, long b) {
+        return Arrays.compareUnsigned(arena, offset(a), offset(a) + length(a), arena, offset(b), offset(b) + length(b));
+    }
+
+    private static int hash(byte[] bytes, int offset, int length) {
+        int hash = 1;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.sample.customer;
+
+import com.example.sample.common.datasource.PrimaryRead;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// getCustomer 앞단의 read-through 캐시 (Caffeine, spring.cache.caffeine.spec)
+// 같은 id 의 동시 miss 는 Caffeine 이 한 번의 로딩으로 합치고, 없는 고객도 null 로 캐시한다.
+// 캐시된 엔티티는 밖으로 내보내지 않고 항상 복사본을 돌려준다.
+// 적재는 primary 에서 읽는다. replica 의 지난 값을 캐시하면 커밋 후 evict 한 뒤에도 TTL 동안 지난 값(과 버전)을 응답한다.
+@Component
+public class CustomerCache {
+
+    private final Cache cache;
+
+    public CustomerCache(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CustomerConstant.name);
+    }
+
+    public Optional<CustomerEntity> get(Long id, Supplier<Optional<CustomerEntity>> loader) {
+        CustomerEntity customer = cache.get(id, () -> PrimaryRead.call(loader).orElse(null));
+        return Optional.ofNullable(customer).map(CustomerEntity::copy);
+    }
+
+    // 로딩하지 않고 캐시에 있는 것만 돌려준다. 없는 고객으로 캐시된 id 는 Optional.empty
+    public Map<Long, Optional<CustomerDTO>> getAllPresent(Collection<Long> ids) {
+        Map<Long, Optional<CustomerDTO>> present = new HashMap<>();
+        for (Long id : ids) {
+            Cache.ValueWrapper wrapper = cache.get(id);
+            if (wrapper != null) {
+                present.put(id, Optional.ofNullable((CustomerEntity) wrapper.get()).map(CustomerEntity::toDTO));
+            }
+        }
+        return present;
+    }
+
+    // 로딩하지 않고 캐시에 있을 때만 버전을 돌려준다.
+    public Optional<Long> peekVersion(Long id) {
+        Cache.ValueWrapper wrapper = cache.get(id);
+        if (wrapper == null || wrapper.get() == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(((CustomerEntity) wrapper.get()).getVersion());
+    }
+
+    // 커밋 이후에 지워야 커밋 전 값을 다시 읽어 캐시하는 경우가 없다.
+    @TransactionalEventListener
+    public void onCustomerEvent(CustomerEvent event) {
+        cache.evict(event.customer().id());
+    }
+}
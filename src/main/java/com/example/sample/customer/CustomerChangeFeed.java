@@ -0,0 +1,343 @@
+package com.example.sample.customer;
+
+import com.example.sample.common.exception.Common503Exception;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 고객 변경(저장 / 수정 / 삭제) 피드, GET /customer/changes 로 구독한다. (SSE)
+// - 커밋된 변경을 순번(sequence)을 붙여 고정 크기 링 버퍼에 넣는다. 이벤트 id 는 "<기동 epoch>-<순번>" 이다.
+// - 재연결 시 Last-Event-ID 다음부터 이어서 보내고, 버퍼에서 이미 밀려났거나 다른 프로세스(재시작 전)의 id 면 reset 이벤트로 다시 조회하라고 알린다.
+// - 구독자마다 버퍼 안의 자기 위치(cursor)까지가 보낼 변경이고, 버퍼를 놓칠 만큼 밀리면 reset 후 끊는다.
+// - 저장하는 쪽은 버퍼에 넣고 깨우기만 하고, 전송은 구독자별로 한 번에 한 스레드가 한다.
+//   전송 스레드는 max-threads 까지 늘어나므로 응답을 읽지 않는 구독자가 다른 구독자의 전송 / heartbeat 를 바로 막지 않는다.
+//   모두 막혀 있으면 나머지는 큐에서 기다린다. (구독자당 최대 1개이고 구독자는 max-subscribers 까지라서 큐도 그 이상 쌓이지 않는다)
+// - 구독자가 max-subscribers 를 넘으면 구독 요청을 503 으로 거절한다.
+// - 한 번의 전송이 write-timeout 을 넘기면 그 구독자를 끊는다. 막힌 스레드는 컨테이너의 소켓 write timeout 에 풀린다.
+// - 밀린 변경을 한 번에 보낼 때는 같은 고객의 마지막 변경만 보낸다.
+@Component
+public class CustomerChangeFeed {
+
+    static final String resetEvent = "reset";
+
+    // 구독자가 가득 찼을 때 다시 시도할 때까지의 시간
+    private static final Duration retryAfter = Duration.ofSeconds(5);
+
+    // 한 번에 버퍼에서 꺼내는 최대 변경 수
+    private static final int drainSize = 500;
+
+    record Change(long sequence, CustomerEvent.Type type, CustomerDTO customer) {}
+
+    private final Change[] ring;
+    // 마지막 순번 (ring 과 함께 this 로 동기화)
+    private long head;
+
+    // 재시작 전 프로세스의 이벤트 id 를 구분한다.
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final int maxSubscribers;
+    // 전송용, threads 개는 유지하고 막힌 구독자가 있으면 max-threads 까지 더 만든다. (구독자당 최대 1개)
+    private final ExecutorService sender;
+    // heartbeat / write-timeout 확인용, 직접 보내지 않는다.
+    private final ScheduledExecutorService scheduler;
+    private final long timeoutMillis;
+    private final long heartbeatNanos;
+    private final long writeTimeoutNanos;
+
+    private final Counter dropped;
+
+    public CustomerChangeFeed(CustomerProperties properties, MeterRegistry meterRegistry) {
+        CustomerProperties.ChangeFeed changeFeed = properties.changeFeed();
+        this.ring = new Change[changeFeed.capacity()];
+        this.timeoutMillis = changeFeed.timeout().toMillis();
+        this.heartbeatNanos = changeFeed.heartbeat().toNanos();
+        this.writeTimeoutNanos = changeFeed.writeTimeout().toNanos();
+        this.maxSubscribers = changeFeed.maxSubscribers();
+        this.sender = new ThreadPoolExecutor(changeFeed.threads(), Math.max(changeFeed.threads(), changeFeed.maxThreads()),
+                60, TimeUnit.SECONDS, new HandOffQueue(), daemonThreads("customer-change-feed-"), HandOffQueue::enqueue);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("customer-change-feed-check-"));
+
+        long check = Math.min(changeFeed.heartbeat().toMillis(), changeFeed.writeTimeout().toMillis());
+        this.scheduler.scheduleWithFixedDelay(this::check, check, check, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("customer.change_feed.subscribers", this, CustomerChangeFeed::subscribers)
+                .description("변경 피드 구독자 수")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("customer.change_feed.dropped")
+                .description("버퍼를 놓칠 만큼 밀리거나 전송이 write-timeout 을 넘겨서 끊은 구독자 수")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener
+    public void onCustomerEvent(CustomerEvent event) {
+        synchronized (this) {
+            head++;
+            ring[index(head)] = new Change(head, event.type(), event.customer());
+        }
+        subscribers.forEach(Subscriber::schedule);
+    }
+
+    // lastEventId 가 없으면 지금 이후의 변경부터 보낸다.
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+
+        long current = head();
+        Long resumeFrom = parse(lastEventId);
+        if (resumeFrom == null) {
+            subscriber.cursor = current;
+        } else if (resumeFrom <= current && changesAfter(resumeFrom, 0) != null) {
+            subscriber.cursor = resumeFrom;
+        } else {
+            // 재시작 전 id 거나 이미 버퍼에서 밀려난 경우
+            subscriber.cursor = current;
+            subscriber.reset(current, false);
+        }
+
+        synchronized (subscribers) {
+            if (subscribers.size() >= maxSubscribers) {
+                throw new Common503Exception(CustomerConstant.changeFeedFullMessage, retryAfter);
+            }
+            subscribers.add(subscriber);
+        }
+        subscriber.schedule();
+        return emitter;
+    }
+
+    public int subscribers() {
+        return subscribers.size();
+    }
+
+    synchronized long head() {
+        return head;
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+        sender.shutdownNow();
+        subscribers.forEach(Subscriber::complete);
+        subscribers.clear();
+    }
+
+    // after 다음 변경을 최대 limit 건, after 가 이미 버퍼에서 밀려났으면 null
+    private synchronized List<Change> changesAfter(long after, int limit) {
+        long oldest = Math.max(1, head - ring.length + 1);
+        if (after + 1 < oldest || after > head) {
+            return null;
+        }
+        long to = Math.min(head, after + limit);
+        List<Change> changes = new ArrayList<>((int) (to - after));
+        for (long sequence = after + 1; sequence <= to; sequence++) {
+            changes.add(ring[index(sequence)]);
+        }
+        return changes;
+    }
+
+    // 보내는 중인 구독자를 막혀 있으면 끊고, 한동안 보낸 것이 없으면 heartbeat 를 보내게 한다.
+    private void check() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.sending && now - subscriber.sendStarted > writeTimeoutNanos) {
+                // emitter 는 보내는 스레드가 잡고 있으므로 표시만 하고, 풀리면 그 스레드가 끝낸다.
+                dropped.increment();
+                subscriber.close();
+            } else if (!subscriber.sending && now - subscriber.lastSent >= heartbeatNanos) {
+                subscriber.heartbeatDue = true;
+                subscriber.schedule();
+            }
+        }
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence % ring.length);
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    // 다른 epoch 이거나 형식이 맞지 않으면 -1
+    private Long parse(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        String id = lastEventId.trim();
+        int separator = id.lastIndexOf('-');
+        if (separator < 0 || !epoch.equals(id.substring(0, separator))) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(id.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    // 고객별 마지막 변경만 남긴다. 순번 순서는 유지되고, 마지막 변경은 항상 남는다.
+    private static Iterable<Change> coalesce(List<Change> changes) {
+        if (changes.size() == 1) {
+            return changes;
+        }
+        Map<Long, Change> latest = new LinkedHashMap<>();
+        for (Change change : changes) {
+            latest.remove(change.customer().id());
+            latest.put(change.customer().id(), change);
+        }
+        return latest.values();
+    }
+
+    private static CustomizableThreadFactory daemonThreads(String prefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    // 놀고 있는 스레드가 없으면 큐에 넣지 않고 거절해서 max-threads 까지 스레드를 늘리고, 그 뒤로는 큐에 쌓는다.
+    // (ThreadPoolExecutor 는 큐에 넣지 못할 때만 스레드를 늘린다)
+    private static class HandOffQueue extends LinkedTransferQueue<Runnable> {
+
+        @Override
+        public boolean offer(Runnable task) {
+            return tryTransfer(task);
+        }
+
+        static void enqueue(Runnable task, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("customer change feed is closed");
+            }
+            ((HandOffQueue) executor.getQueue()).put(task);
+        }
+    }
+
+    private class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long cursor;
+        private volatile boolean closed;
+        // write-timeout / heartbeat 확인용
+        private volatile long sendStarted;
+        private volatile boolean sending;
+        private volatile long lastSent = System.nanoTime();
+        private volatile boolean heartbeatDue;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // 이미 보내는 중이면 그 스레드가 이어서 보낸다.
+        void schedule() {
+            if (!closed && scheduled.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RuntimeException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed) {
+                    List<Change> changes = changesAfter(cursor, drainSize);
+                    if (changes == null) {
+                        dropped.increment();
+                        reset(head(), true);
+                        return;
+                    }
+                    if (changes.isEmpty()) {
+                        if (heartbeatDue) {
+                            heartbeatDue = false;
+                            send(SseEmitter.event().comment(""));
+                        }
+                        break;
+                    }
+                    for (Change change : coalesce(changes)) {
+                        send(SseEmitter.event()
+                                .id(eventId(change.sequence()))
+                                .name(change.type().name())
+                                .data(change.customer(), MediaType.APPLICATION_JSON));
+                    }
+                    cursor = changes.get(changes.size() - 1).sequence();
+                    heartbeatDue = false;
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                scheduled.set(false);
+            }
+            if (closed) {
+                // write-timeout 으로 끊긴 경우 연결을 닫는다.
+                complete();
+            } else if (cursor < head() || heartbeatDue) {
+                // 보내는 사이에 들어온 변경
+                schedule();
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            sendStarted = System.nanoTime();
+            sending = true;
+            try {
+                emitter.send(event);
+            } finally {
+                sending = false;
+                lastSent = System.nanoTime();
+            }
+        }
+
+        // 클라이언트는 전체를 다시 조회한 뒤 이 id 부터 이어 받는다.
+        void reset(long sequence, boolean complete) {
+            try {
+                send(SseEmitter.event().id(eventId(sequence)).name(resetEvent).data(sequence));
+                if (complete) {
+                    close();
+                    complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+
+        // 이미 끝난 연결이면 무시한다.
+        void complete() {
+            try {
+                emitter.complete();
+            } catch (RuntimeException ignored) {
+            }
+        }
+    }
+}
@@ -3,8 +3,33 @@ package com.example.sample.customer;
 public interface CustomerConstant {
 
     String notFoundMessage = "고객 정보가 없습니다.";
+    String invalidCursorMessage = "잘못된 커서입니다.";
+    String cursorConflictMessage = "after 와 before 는 함께 사용할 수 없습니다.";
+    String emptyBatchMessage = "저장할 고객 정보를 입력해주세요.";
+    String batchSizeExceededMessage = "한 번에 최대 %d명까지 저장할 수 있습니다.";
+    String batchRowMessage = "%d번째 고객: %s";
+    String emptyIdsMessage = "조회할 고객 id 를 입력해주세요.";
+    String idsSizeExceededMessage = "한 번에 최대 %d명까지 조회할 수 있습니다.";
+    String invalidFormatMessage = "지원하지 않는 형식입니다.";
+    String invalidFieldsMessage = "지원하지 않는 필드입니다.";
+    String invalidSortMessage = "지원하지 않는 정렬 기준입니다.";
+    String shardingUnsupportedMessage = "샤딩 모드에서는 지원하지 않는 기능입니다.";
+    String invalidRowMessage = "형식이 올바르지 않습니다.";
+    String lineTooLongMessage = "한 줄은 최대 %d자까지 입력할 수 있습니다.";
+    String importChunkFailedMessage = "저장에 실패했습니다.";
+    String versionMismatchMessage = "다른 요청에 의해 고객 정보가 변경되었습니다. 다시 조회 후 시도해주세요.";
+    String invalidTelMessage = "휴대폰번호는 숫자로만 입력해주세요.";
+    String emptySearchMessage = "휴대폰 번호 또는 이름 중 하나로 검색해주세요.";
+    String duplicateTelMessage = "이미 등록된 휴대폰 번호입니다.";
+    String changeFeedFullMessage = "변경 피드 구독자가 너무 많습니다. 잠시 후 다시 시도해주세요.";
+    String groupCommitTimeoutMessage = "저장 요청이 밀려 처리하지 못했습니다. 잠시 후 다시 시도해주세요.";
     String url = "/customer";
     String name = "customer";
     String description = "고객";
 
+    int defaultCursorSize = 20;
+    int maxCursorSize = 1000;
+    int defaultSearchSize = 20;
+    int maxSearchSize = 100;
+
 }
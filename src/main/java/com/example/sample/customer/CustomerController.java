@@ -4,15 +4,28 @@ import com.example.sample.common.exception.Common400Exception;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.Errors;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/customer")
@@ -20,9 +33,20 @@ import java.util.Optional;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final CustomerImportService customerImportService;
+    private final CustomerChangeFeed customerChangeFeed;
+    private final Validator validator;
 
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(
+            CustomerService customerService,
+            CustomerImportService customerImportService,
+            CustomerChangeFeed customerChangeFeed,
+            Validator validator
+    ) {
         this.customerService = customerService;
+        this.customerImportService = customerImportService;
+        this.customerChangeFeed = customerChangeFeed;
+        this.validator = validator;
     }
 
     @GetMapping
@@ -41,8 +65,95 @@ public class CustomerController {
 //                    )
 //            ),
 //    })
-    public ResponseEntity<Page<CustomerDTO>> getCustomers(Pageable pageable) {
-        return ResponseEntity.ok(customerService.getCustomers(pageable));
+    public ResponseEntity<Page<CustomerDTO>> getCustomers(
+            Pageable pageable,
+            @Parameter(name = "fields", description = "응답에 포함할 필드 (예: name,tel), 없으면 전체") @RequestParam(required = false) String fields
+    ) {
+        Page<CustomerDTO> page = customerService.getCustomers(pageable, CustomerField.parse(fields));
+        return ResponseEntity.ok()
+                .eTag(CustomerETag.of(page))
+                .body(page);
+    }
+
+    @GetMapping(params = "ids")
+//    @Operation(summary = "고객 여러 명 조회", description = "여러 고객을 id 로 한 번에 조회합니다. 요청 순서대로 응답하고, 없는 id 는 missing 으로 알려줍니다.")
+    public ResponseEntity<CustomerMultiGetResult> getCustomersByIds(
+            @Parameter(name = "ids", description = "고객 id 목록 (예: 1,2,3)") @RequestParam List<Long> ids
+    ) {
+        return ResponseEntity.ok(customerService.getCustomersByIds(ids));
+    }
+
+    @GetMapping("/slice")
+//    @Operation(summary = "고객 리스트 조회 (count 없음)", description = "count 쿼리 없이 고객 리스트를 조회합니다.")
+    public ResponseEntity<CustomerSlice> getCustomerSlice(
+            Pageable pageable,
+            @Parameter(name = "fields", description = "응답에 포함할 필드 (예: name,tel), 없으면 전체") @RequestParam(required = false) String fields,
+            @Parameter(name = "total", description = "근사 전체 고객 수 포함 여부") @RequestParam(defaultValue = "false") boolean total
+    ) {
+        CustomerSlice slice = customerService.getCustomerSlice(pageable, CustomerField.parse(fields), total);
+        return ResponseEntity.ok()
+                .eTag(CustomerETag.of(slice))
+                .body(slice);
+    }
+
+    @GetMapping("/cursor")
+//    @Operation(summary = "고객 리스트 커서 조회", description = "커서(after / before) 기준으로 고객 리스트를 조회합니다.")
+    public ResponseEntity<CustomerCursorPage> getCustomerCursorPage(
+            @Parameter(name = "after", description = "이 커서 다음의 고객부터 조회") @RequestParam(required = false) String after,
+            @Parameter(name = "before", description = "이 커서 이전의 고객까지 조회") @RequestParam(required = false) String before,
+            @Parameter(name = "size", description = "페이지 크기") @RequestParam(defaultValue = "" + CustomerConstant.defaultCursorSize) int size
+    ) {
+        int limit = Math.min(Math.max(size, 1), CustomerConstant.maxCursorSize);
+        CustomerCursorPage page = customerService.getCustomerCursorPage(after, before, limit);
+        return ResponseEntity.ok()
+                .eTag(CustomerETag.of(page))
+                .body(page);
+    }
+
+
+    @GetMapping("/search")
+//    @Operation(summary = "고객 검색", description = "휴대폰 번호(정확히 일치 / 앞부분 일치) 또는 이름(부분 일치 / 초성)으로 고객을 검색합니다.")
+    public ResponseEntity<List<CustomerDTO>> searchCustomers(
+            @Parameter(name = "tel", description = "휴대폰 번호 또는 앞부분") @RequestParam(required = false) String tel,
+            @Parameter(name = "name", description = "이름 일부 또는 초성 (예: ㅂㅈㅎ)") @RequestParam(required = false) String name,
+            @Parameter(name = "exact", description = "정확히 일치 여부") @RequestParam(defaultValue = "false") boolean exact,
+            @Parameter(name = "size", description = "최대 결과 수") @RequestParam(defaultValue = "" + CustomerConstant.defaultSearchSize) int size
+    ) {
+        int limit = Math.min(Math.max(size, 1), CustomerConstant.maxSearchSize);
+        if (name != null && tel == null && !name.isBlank()) {
+            return ResponseEntity.ok(customerService.searchByName(name, limit));
+        }
+        if (tel == null || name != null) {
+            throw new Common400Exception(CustomerConstant.emptySearchMessage);
+        }
+        if (!tel.matches("[0-9]{1,11}")) {
+            throw new Common400Exception(CustomerConstant.invalidTelMessage);
+        }
+        return ResponseEntity.ok(customerService.searchByTel(tel, exact, limit));
+    }
+
+    @GetMapping("/export")
+//    @Operation(summary = "고객 전체 내보내기", description = "전체 고객을 NDJSON 또는 CSV 로 스트리밍합니다.")
+    public ResponseEntity<StreamingResponseBody> exportCustomers(
+            @Parameter(name = "format", description = "ndjson 또는 csv") @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        CustomerFileFormat exportFormat = CustomerFileFormat.of(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(CustomerConstant.name + "." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(outputStream -> customerService.exportCustomers(exportFormat, outputStream));
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+//    @Operation(summary = "고객 변경 피드", description = "저장 / 수정 / 삭제된 고객을 SSE 로 받습니다. Last-Event-ID 로 이어 받을 수 있습니다.")
+    public SseEmitter getCustomerChanges(
+            @Parameter(name = "Last-Event-ID", description = "마지막으로 받은 이벤트 id, 이후 변경부터 이어 받는다.", in = ParameterIn.HEADER)
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return customerChangeFeed.subscribe(lastEventId);
     }
 
 
@@ -67,13 +178,25 @@ public class CustomerController {
 //            ),
 //    })
     public ResponseEntity<CustomerDTO> getCustomer(
-            @Parameter(name = "id", description = "고객의 id", in = ParameterIn.PATH) @PathVariable Long id
+            @Parameter(name = "id", description = "고객의 id", in = ParameterIn.PATH) @PathVariable Long id,
+            WebRequest webRequest
     ) {
+        // If-None-Match 가 있으면 버전만 확인해서 엔티티 로딩 / 직렬화 없이 304 를 응답한다.
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = customerService.getCustomerVersion(id);
+            if (version.isPresent() && webRequest.checkNotModified(CustomerETag.of(version.get()))) {
+                return null;
+            }
+        }
+
         Optional<CustomerEntity> customerOptional = customerService.getCustomer(id);
         if (customerOptional.isEmpty()) {
             throw new Common400Exception(CustomerConstant.notFoundMessage);
         }
-        return ResponseEntity.ok(customerOptional.get().toDTO());
+        CustomerEntity customer = customerOptional.get();
+        return ResponseEntity.ok()
+                .eTag(CustomerETag.of(customer))
+                .body(customer.toDTO());
     }
 
     @PostMapping
@@ -104,7 +227,46 @@ public class CustomerController {
             throw new Common400Exception(errors.getFieldErrors().get(0).getDefaultMessage());
         }
 
-        return ResponseEntity.ok(customerService.save(request).toDTO());
+        CustomerEntity customer = customerService.save(request);
+        return ResponseEntity.ok()
+                .eTag(CustomerETag.of(customer))
+                .body(customer.toDTO());
+    }
+
+    @PostMapping("/batch")
+//    @Operation(summary = "고객 일괄 저장", description = "여러 고객을 한 번에 저장합니다.")
+    public ResponseEntity<List<CustomerDTO>> saveCustomers(
+            @RequestBody List<CustomerInsertRequest> requests
+    ) {
+        if (requests.isEmpty()) {
+            throw new Common400Exception(CustomerConstant.emptyBatchMessage);
+        }
+        for (int i = 0; i < requests.size(); i++) {
+            Set<ConstraintViolation<CustomerInsertRequest>> violations = validator.validate(requests.get(i));
+            if (!violations.isEmpty()) {
+                throw new Common400Exception(CustomerConstant.batchRowMessage.formatted(i + 1, violations.iterator().next().getMessage()));
+            }
+        }
+
+        return ResponseEntity.ok(customerService.saveAll(requests).stream()
+                .map(CustomerEntity::toDTO)
+                .toList());
+    }
+
+    @PostMapping(value = "/import", produces = "application/x-ndjson")
+//    @Operation(summary = "고객 대량 등록", description = "NDJSON 또는 CSV 업로드를 한 줄씩 읽어 저장하고, 실패한 줄을 NDJSON 으로 응답합니다.")
+    public ResponseEntity<StreamingResponseBody> importCustomers(
+            @Parameter(name = "format", description = "ndjson 또는 csv") @RequestParam(defaultValue = "ndjson") String format,
+            InputStream body
+    ) {
+        CustomerFileFormat importFormat = CustomerFileFormat.of(format);
+        return ResponseEntity.ok()
+                .contentType(CustomerFileFormat.NDJSON.getMediaType())
+                .body(outputStream -> {
+                    Writer report = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+                    customerImportService.importCustomers(importFormat, body, report);
+                    report.flush();
+                });
     }
 
 //    @Operation(summary = "고객 전체 수정", description = "고객 정보를 전체 수정합니다.")
@@ -129,6 +291,8 @@ public class CustomerController {
     @PutMapping("/{id}")
     public ResponseEntity<CustomerDTO> putCustomer(
             @Parameter(name = "id", description = "고객의 id", in = ParameterIn.PATH) @PathVariable Long id,
+            @Parameter(name = HttpHeaders.IF_MATCH, description = "조회 시 받은 ETag, 버전이 다르면 412", in = ParameterIn.HEADER)
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody @Valid CustomerUpdateRequest request,
             Errors errors
     ) {
@@ -136,13 +300,15 @@ public class CustomerController {
             throw new Common400Exception(errors.getFieldErrors().get(0).getDefaultMessage());
         }
 
-        Optional<CustomerEntity> customerOptional = customerService.getCustomer(id);
+        Optional<CustomerEntity> customerOptional = customerService.update(id, request, CustomerETag.parseIfMatch(ifMatch));
         if (customerOptional.isEmpty()) {
             throw new Common400Exception(CustomerConstant.notFoundMessage);
         }
         CustomerEntity customer = customerOptional.get();
 
-        return ResponseEntity.ok(customerService.update(request, customer).toDTO());
+        return ResponseEntity.ok()
+                .eTag(CustomerETag.of(customer))
+                .body(customer.toDTO());
     }
 
 
@@ -154,15 +320,15 @@ public class CustomerController {
 //    })
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteCustomer(
-            @Parameter(name = "id", description = "고객의 id", in = ParameterIn.PATH) @PathVariable Long id
+            @Parameter(name = "id", description = "고객의 id", in = ParameterIn.PATH) @PathVariable Long id,
+            @Parameter(name = HttpHeaders.IF_MATCH, description = "조회 시 받은 ETag, 버전이 다르면 412", in = ParameterIn.HEADER)
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
 
-        Optional<CustomerEntity> customerOptional = customerService.getCustomer(id);
-        if (customerOptional.isEmpty()) {
+        if (!customerService.deleteCustomer(id, CustomerETag.parseIfMatch(ifMatch))) {
             throw new Common400Exception(CustomerConstant.notFoundMessage);
         }
 
-        customerService.deleteCustomer(customerOptional.get());
         return ResponseEntity.ok().build();
     }
 
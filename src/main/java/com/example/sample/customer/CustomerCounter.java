@@ -0,0 +1,52 @@
+package com.example.sample.customer;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// 근사 전체 고객 수, 저장 / 삭제 이벤트로 증감하고 maxStaleness 가 지나면 count 쿼리로 보정한다.
+@Component
+public class CustomerCounter {
+
+    private final CustomerRepository customerRepository;
+    private final long maxStalenessNanos;
+
+    private final AtomicLong count = new AtomicLong();
+    private volatile long refreshedAt;
+    private volatile boolean refreshed;
+
+    public CustomerCounter(CustomerRepository customerRepository, CustomerProperties properties) {
+        this.customerRepository = customerRepository;
+        this.maxStalenessNanos = properties.count().maxStaleness().toNanos();
+    }
+
+    public long get() {
+        if (isStale()) {
+            refresh();
+        }
+        return count.get();
+    }
+
+    @TransactionalEventListener
+    public void onCustomerEvent(CustomerEvent event) {
+        switch (event.type()) {
+            case INSERTED -> count.incrementAndGet();
+            case DELETED -> count.decrementAndGet();
+            default -> {
+            }
+        }
+    }
+
+    private synchronized void refresh() {
+        if (isStale()) {
+            count.set(customerRepository.count());
+            refreshedAt = System.nanoTime();
+            refreshed = true;
+        }
+    }
+
+    private boolean isStale() {
+        return !refreshed || System.nanoTime() - refreshedAt > maxStalenessNanos;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.sample.customer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+// RFC 4180 형식의 고객 CSV 한 줄 읽기 / 쓰기 (따옴표 안의 줄바꿈은 지원하지 않는다.)
+public final class CustomerCsv {
+
+    public static final String header = "id,name,tel";
+
+    private CustomerCsv() {
+    }
+
+    public static void writeRow(Writer writer, CustomerDTO customer) throws IOException {
+        writer.write(String.valueOf(customer.id()));
+        writer.write(',');
+        writeField(writer, customer.name());
+        writer.write(',');
+        writeField(writer, customer.tel());
+        writer.write('\n');
+    }
+
+    public static List<String> parseRow(String line) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static void writeField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
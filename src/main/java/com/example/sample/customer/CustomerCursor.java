@@ -0,0 +1,32 @@
+package com.example.sample.customer;
+
+import com.example.sample.common.exception.Common400Exception;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// id 를 감싼 불투명(opaque) 커서, 클라이언트는 값을 해석하지 않고 그대로 돌려준다.
+public final class CustomerCursor {
+
+    private static final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder decoder = Base64.getUrlDecoder();
+
+    private CustomerCursor() {
+    }
+
+    public static String encode(Long id) {
+        return encoder.encodeToString(("id:" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(String cursor) {
+        try {
+            String value = new String(decoder.decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith("id:")) {
+                throw new Common400Exception(CustomerConstant.invalidCursorMessage);
+            }
+            return Long.parseLong(value.substring(3));
+        } catch (IllegalArgumentException e) {
+            throw new Common400Exception(CustomerConstant.invalidCursorMessage);
+        }
+    }
+}
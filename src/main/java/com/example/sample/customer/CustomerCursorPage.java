@@ -0,0 +1,20 @@
+package com.example.sample.customer;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record CustomerCursorPage(
+        @Schema(description = "고객 정보")
+        List<CustomerDTO> content,
+
+        @Schema(description = "페이지 크기")
+        int size,
+
+        @Schema(description = "다음 페이지 커서 (after), 마지막 페이지면 null")
+        String next,
+
+        @Schema(description = "이전 페이지 커서 (before), 첫 페이지면 null")
+        String previous
+) {
+}
@@ -1,11 +1,14 @@
 package com.example.sample.customer;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 
 
+// ?fields= 로 고르지 않은 필드는 null 이고 응답에서 빠진다.
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record CustomerDTO (
         @Schema(description = "고객 ID")
         Long id,
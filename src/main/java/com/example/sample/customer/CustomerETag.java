@@ -0,0 +1,53 @@
+package com.example.sample.customer;
+
+import com.example.sample.common.exception.Common412Exception;
+import org.springframework.data.domain.Page;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+// 고객 단건은 버전으로 strong ETag (If-Match), 리스트는 응답 내용의 해시로 weak ETag (If-None-Match) 를 만든다.
+// 리스트는 JSON / CBOR / Smile, gzip 여부와 관계없이 내용이 같으면 같은 ETag 라 weak 이어야 하고,
+// 톰캣도 strong ETag 응답은 압축하지 않는다.
+public final class CustomerETag {
+
+    private CustomerETag() {
+    }
+
+    public static String of(CustomerEntity customer) {
+        return of(customer.getVersion());
+    }
+
+    public static String of(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    public static String of(Page<CustomerDTO> page) {
+        return hash(page.getNumber() + "/" + page.getSize() + "/" + page.getTotalElements() + "/" + page.getSort() + "/" + page.getContent());
+    }
+
+    // record 의 toString 은 모든 필드를 포함하므로 내용이 같으면 ETag 도 같다.
+    public static String of(Record list) {
+        return hash(list.toString());
+    }
+
+    private static String hash(String value) {
+        return "W/\"" + DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // If-Match 가 없거나 * 이면 null (버전 조건 없음), strong ETag 가 아니면 412
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() < 3 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') {
+            throw new Common412Exception(CustomerConstant.versionMismatchMessage);
+        }
+        try {
+            return Long.parseLong(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new Common412Exception(CustomerConstant.versionMismatchMessage);
+        }
+    }
+}
@@ -7,14 +7,17 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.Comment;
 
-@Table(name = "customer")
+// 휴대폰 번호 중복은 uk_customer_tel 이 최종 판단한다. (unique 인덱스가 번호 검색에도 쓰인다)
+@Table(name = "customer", uniqueConstraints = @UniqueConstraint(name = "uk_customer_tel", columnNames = "tel"))
 @Entity
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 public class CustomerEntity {
 
+    // IDENTITY 는 insert 배치가 불가능해서 sequence (pooled-lo, allocationSize 단위로 미리 할당) 를 사용한다.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_seq")
+    @SequenceGenerator(name = "customer_seq", sequenceName = "customer_seq", allocationSize = 50)
     private Long id;
 
     @Comment("이름")
@@ -25,6 +28,19 @@ public class CustomerEntity {
     @Column(nullable = false, length = 20)
     private String tel;
 
+    // 낙관적 락 버전, ETag / If-Match 로 노출된다.
+    @Comment("버전")
+    @Version
+    private Long version;
+
+    public CustomerEntity(Long id, String name, String tel) {
+        this(id, name, tel, null);
+    }
+
+    public CustomerEntity copy() {
+        return new CustomerEntity(id, name, tel, version);
+    }
+
     public CustomerDTO toDTO() {
         return new CustomerDTO(id, name, tel);
     }
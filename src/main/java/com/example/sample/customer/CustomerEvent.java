@@ -0,0 +1,11 @@
+package com.example.sample.customer;
+
+// CustomerService 의 변경 이벤트, 리스너는 커밋 이후(@TransactionalEventListener)에 받는다.
+public record CustomerEvent(
+        Type type,
+        CustomerDTO customer
+) {
+    public enum Type {
+        INSERTED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.sample.customer;
+
+import com.example.sample.common.exception.Common400Exception;
+import org.springframework.data.domain.Sort;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+// ?fields=name,tel 로 고를 수 있는 고객 필드, id 는 항상 포함된다.
+public enum CustomerField {
+
+    NAME("name"),
+    TEL("tel");
+
+    private final String property;
+
+    CustomerField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public static Set<CustomerField> all() {
+        return EnumSet.allOf(CustomerField.class);
+    }
+
+    // 리스트는 응답 필드(id, name, tel)로만 정렬한다.
+    public static void checkSort(Sort sort) {
+        for (Sort.Order order : sort) {
+            String property = order.getProperty();
+            if (!property.equals("id") && all().stream().noneMatch(field -> field.property.equals(property))) {
+                throw new Common400Exception(CustomerConstant.invalidSortMessage);
+            }
+        }
+    }
+
+    // 없거나 비어 있으면 전체 필드
+    public static Set<CustomerField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return all();
+        }
+        Set<CustomerField> parsed = EnumSet.noneOf(CustomerField.class);
+        for (String token : fields.split(",")) {
+            String name = token.trim();
+            if (name.isEmpty() || name.equals("id")) {
+                continue;
+            }
+            parsed.add(of(name));
+        }
+        return parsed;
+    }
+
+    private static CustomerField of(String property) {
+        for (CustomerField value : values()) {
+            if (value.property.equals(property)) {
+                return value;
+            }
+        }
+        throw new Common400Exception(CustomerConstant.invalidFieldsMessage);
+    }
+}
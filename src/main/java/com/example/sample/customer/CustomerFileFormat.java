@@ -0,0 +1,37 @@
+package com.example.sample.customer;
+
+import com.example.sample.common.exception.Common400Exception;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+public enum CustomerFileFormat {
+
+    NDJSON(new MediaType("application", "x-ndjson", StandardCharsets.UTF_8), "ndjson"),
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    CustomerFileFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static CustomerFileFormat of(String format) {
+        for (CustomerFileFormat value : values()) {
+            if (value.extension.equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+        throw new Common400Exception(CustomerConstant.invalidFormatMessage);
+    }
+}
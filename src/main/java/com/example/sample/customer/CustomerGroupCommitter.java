@@ -0,0 +1,171 @@
+package com.example.sample.customer;
+
+import com.example.sample.common.exception.Common409Exception;
+import com.example.sample.common.exception.Common503Exception;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+// 단건 저장을 모아서 maxBatchSize 건 또는 maxDelay 가 지나면 한 트랜잭션 + JDBC batch 로 커밋한다. (group commit)
+// 호출 스레드는 트랜잭션 없이 자기 요청의 결과(생성된 id)만 기다린다.
+// 큐가 가득 차면 기다리지 않고 호출 스레드에서 바로 저장한다.
+// commitTimeout 안에 커밋되지 않으면 503 으로 응답한다. 아직 큐에 있던 요청은 빼서 저장하지 않는다.
+// 커밋 중 어떤 오류가 나도 그 배치의 요청만 실패시키고 worker 는 계속 돈다.
+class CustomerGroupCommitter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerGroupCommitter.class);
+
+    private record Pending(CustomerInsertRequest request, CompletableFuture<CustomerEntity> future) {}
+
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Duration commitTimeout;
+    private final BlockingQueue<Pending> queue;
+
+    // 한 트랜잭션으로 여러 건 저장 / 한 건 저장 (CustomerService 가 넘겨준다)
+    private final Function<List<CustomerInsertRequest>, List<CustomerEntity>> insertAll;
+    private final Function<CustomerInsertRequest, CustomerEntity> insert;
+
+    private final DistributionSummary batchSize;
+    private final Timer flushTimer;
+
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    CustomerGroupCommitter(
+            CustomerProperties.GroupCommit properties,
+            MeterRegistry meterRegistry,
+            Function<List<CustomerInsertRequest>, List<CustomerEntity>> insertAll,
+            Function<CustomerInsertRequest, CustomerEntity> insert
+    ) {
+        this.maxBatchSize = properties.maxBatchSize();
+        this.maxDelayNanos = properties.maxDelay().toNanos();
+        this.commitTimeout = properties.commitTimeout();
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.insertAll = insertAll;
+        this.insert = insert;
+
+        this.batchSize = DistributionSummary.builder("customer.group_commit.batch_size")
+                .description("그룹 커밋 한 번에 저장한 고객 수")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("customer.group_commit.flush")
+                .description("그룹 커밋 한 번의 트랜잭션 시간")
+                .register(meterRegistry);
+        Gauge.builder("customer.group_commit.queue_depth", queue, BlockingQueue::size)
+                .description("커밋을 기다리는 저장 요청 수")
+                .register(meterRegistry);
+
+        this.worker = new Thread(this::run, "customer-group-commit");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    CustomerEntity submit(CustomerInsertRequest request) {
+        Pending pending = new Pending(request, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            return insert.apply(request);
+        }
+        try {
+            return pending.future().get(commitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // 이미 커밋 중이면 빼지 못하고, 응답은 503 이어도 저장될 수 있다.
+            queue.remove(pending);
+            throw new Common503Exception(CustomerConstant.groupCommitTimeoutMessage, commitTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queue.remove(pending);
+            throw new Common503Exception(CustomerConstant.groupCommitTimeoutMessage, commitTimeout);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        // 커밋 도중 interrupt 되지 않도록 깨우지 않고, poll 이 끝나길 기다린다.
+        running = false;
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 종료 요청 후에도 큐에 남은 요청은 모두 커밋하고 끝낸다.
+    private void run() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = running ? queue.poll(1, TimeUnit.SECONDS) : queue.poll();
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 && running ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // 더 받지 않고, 모은 것과 큐에 남은 것까지 커밋한다.
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                try {
+                    flush(batch);
+                } catch (Throwable e) {
+                    // 이미 결과를 받은 요청은 그대로 두고, 남은 요청만 실패시킨다.
+                    log.warn("customer group commit failed ({} rows)", batch.size(), e);
+                    batch.forEach(pending -> pending.future().completeExceptionally(e));
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        batchSize.record(batch.size());
+        List<CustomerInsertRequest> requests = batch.stream().map(Pending::request).toList();
+        try {
+            List<CustomerEntity> customers = flushTimer.record(() -> insertAll.apply(requests));
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future().complete(customers.get(i));
+            }
+        } catch (Common409Exception | DataIntegrityViolationException e) {
+            // 한 건의 중복 번호로 전체가 롤백되므로, 하나씩 다시 저장해서 중복인 요청만 실패시킨다.
+            for (Pending pending : batch) {
+                try {
+                    pending.future().complete(insert.apply(pending.request()));
+                } catch (RuntimeException single) {
+                    pending.future().completeExceptionally(single);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.sample.customer;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record CustomerImportError(
+        @Schema(description = "실패한 줄 번호 (1 부터 시작)")
+        long line,
+
+        @Schema(description = "실패 메세지")
+        String detail
+) {
+}
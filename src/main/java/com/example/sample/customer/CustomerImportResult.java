@@ -0,0 +1,12 @@
+package com.example.sample.customer;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record CustomerImportResult(
+        @Schema(description = "저장된 고객 수")
+        long imported,
+
+        @Schema(description = "실패한 줄 수")
+        long rejected
+) {
+}
@@ -0,0 +1,264 @@
+package com.example.sample.customer;
+
+import com.example.sample.common.exception.Common409Exception;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// 크기 제한 없는 NDJSON / CSV 업로드를 한 줄씩 읽어 chunkSize 단위 트랜잭션으로 저장한다.
+// 실패한 줄은 전체 업로드를 실패시키지 않고 report 에 NDJSON 으로 바로 기록한다.
+// 샤딩 모드는 여러 샤드에 걸친 chunk 를 한 트랜잭션으로 묶을 수 없으므로 한 줄씩 저장한다.
+@Service
+public class CustomerImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerImportService.class);
+
+    private final CustomerService customerService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final CustomerProperties properties;
+
+    public CustomerImportService(
+            CustomerService customerService,
+            Validator validator,
+            ObjectMapper objectMapper,
+            CustomerProperties properties
+    ) {
+        this.customerService = customerService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    public CustomerImportResult importCustomers(CustomerFileFormat format, InputStream inputStream, Writer report) throws IOException {
+        int maxLineLength = properties.importing().maxLineLength();
+        LineReader reader = new LineReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), maxLineLength);
+        int chunkSize = properties.importing().chunkSize();
+        List<CustomerInsertRequest> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkLines = new ArrayList<>(chunkSize);
+        int[] columns = {0, 1};
+        long imported = 0;
+        long rejected = 0;
+
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (reader.isTooLong()) {
+                writeReport(report, new CustomerImportError(lineNumber, CustomerConstant.lineTooLongMessage.formatted(maxLineLength)));
+                rejected++;
+                continue;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == CustomerFileFormat.CSV && lineNumber == 1 && isHeader(line, columns)) {
+                continue;
+            }
+
+            String detail;
+            try {
+                CustomerInsertRequest request = format == CustomerFileFormat.CSV
+                        ? parseCsv(line, columns)
+                        : objectMapper.readValue(line, CustomerInsertRequest.class);
+                detail = validate(request);
+                if (detail == null) {
+                    chunk.add(request);
+                    chunkLines.add(lineNumber);
+                }
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                detail = CustomerConstant.invalidRowMessage;
+            }
+            if (detail != null) {
+                writeReport(report, new CustomerImportError(lineNumber, detail));
+                rejected++;
+            }
+
+            if (chunk.size() == chunkSize) {
+                long saved = flush(chunk, chunkLines, report);
+                imported += saved;
+                rejected += chunkLines.size() - saved;
+                chunk.clear();
+                chunkLines.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            long saved = flush(chunk, chunkLines, report);
+            imported += saved;
+            rejected += chunkLines.size() - saved;
+        }
+
+        CustomerImportResult result = new CustomerImportResult(imported, rejected);
+        writeReport(report, result);
+        return result;
+    }
+
+    // 번호 중복은 저장 전에 줄마다 걸러서 (chunk 안의 중복, 이미 등록된 번호) 그 줄만 실패로 기록하고 나머지를 chunk 로 커밋한다.
+    // 확인과 저장 사이에 같은 번호가 먼저 저장되어 chunk 가 중복으로 실패하면, 한 줄씩 다시 저장해서 실패한 줄만 기록한다.
+    private long flush(List<CustomerInsertRequest> chunk, List<Long> chunkLines, Writer report) throws IOException {
+        List<CustomerInsertRequest> accepted = new ArrayList<>(chunk.size());
+        List<Long> acceptedLines = new ArrayList<>(chunk.size());
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            String tel = chunk.get(i).tel();
+            if (!seen.add(tel) || customerService.isTelRegistered(tel)) {
+                writeReport(report, new CustomerImportError(chunkLines.get(i), CustomerConstant.duplicateTelMessage));
+                continue;
+            }
+            accepted.add(chunk.get(i));
+            acceptedLines.add(chunkLines.get(i));
+        }
+        if (accepted.isEmpty()) {
+            report.flush();
+            return 0;
+        }
+        if (customerService.isSharded()) {
+            return saveEach(accepted, acceptedLines, report);
+        }
+
+        try {
+            customerService.saveAll(accepted);
+            report.flush();
+            return accepted.size();
+        } catch (Common409Exception | DataIntegrityViolationException e) {
+            log.info("customer import chunk hit a duplicate tel, retrying row by row (lines {} - {})",
+                    acceptedLines.get(0), acceptedLines.get(acceptedLines.size() - 1));
+            return saveEach(accepted, acceptedLines, report);
+        } catch (RuntimeException e) {
+            log.warn("customer import chunk failed (lines {} - {})", acceptedLines.get(0), acceptedLines.get(acceptedLines.size() - 1), e);
+            for (Long line : acceptedLines) {
+                writeReport(report, new CustomerImportError(line, CustomerConstant.importChunkFailedMessage));
+            }
+            report.flush();
+            return 0;
+        }
+    }
+
+    private long saveEach(List<CustomerInsertRequest> requests, List<Long> lines, Writer report) throws IOException {
+        long saved = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                customerService.save(requests.get(i));
+                saved++;
+            } catch (Common409Exception | DataIntegrityViolationException e) {
+                writeReport(report, new CustomerImportError(lines.get(i), CustomerConstant.duplicateTelMessage));
+            } catch (RuntimeException e) {
+                log.warn("customer import line {} failed", lines.get(i), e);
+                writeReport(report, new CustomerImportError(lines.get(i), CustomerConstant.importChunkFailedMessage));
+            }
+        }
+        report.flush();
+        return saved;
+    }
+
+    // BufferedReader.readLine 은 줄 길이 제한이 없어서 줄바꿈 없는 업로드 한 줄이 힙을 다 쓸 수 있다.
+    // maxLength 를 넘는 줄은 나머지를 읽어서 버리고 isTooLong 으로 알린다. (\n, \r\n 줄바꿈)
+    private static class LineReader {
+
+        private final Reader reader;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean tooLong;
+
+        LineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        String readLine() throws IOException {
+            line.setLength(0);
+            tooLong = false;
+            boolean read = false;
+            while (true) {
+                if (position == limit) {
+                    limit = reader.read(buffer);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        return read ? line() : null;
+                    }
+                }
+                read = true;
+                char c = buffer[position++];
+                if (c == '\n') {
+                    return line();
+                }
+                if (tooLong) {
+                    continue;
+                }
+                // \r\n 의 \r 까지 한 글자 여유를 두고 자른다.
+                if (line.length() > maxLength) {
+                    tooLong = true;
+                    line.setLength(0);
+                } else {
+                    line.append(c);
+                }
+            }
+        }
+
+        boolean isTooLong() {
+            return tooLong;
+        }
+
+        private String line() {
+            int length = line.length();
+            if (length > 0 && line.charAt(length - 1) == '\r') {
+                line.setLength(--length);
+            }
+            if (length > maxLength) {
+                tooLong = true;
+            }
+            return line.toString();
+        }
+    }
+
+    private String validate(CustomerInsertRequest request) {
+        Set<ConstraintViolation<CustomerInsertRequest>> violations = validator.validate(request);
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+    // 헤더가 있으면 name, tel 컬럼 위치를 헤더 기준으로 맞춘다. (내보내기 CSV 의 id 컬럼은 무시)
+    private boolean isHeader(String line, int[] columns) {
+        List<String> header = CustomerCsv.parseRow(line).stream().map(String::trim).toList();
+        int name = header.indexOf("name");
+        int tel = header.indexOf("tel");
+        if (name < 0 || tel < 0) {
+            return false;
+        }
+        columns[0] = name;
+        columns[1] = tel;
+        return true;
+    }
+
+    private CustomerInsertRequest parseCsv(String line, int[] columns) {
+        List<String> fields = CustomerCsv.parseRow(line);
+        if (fields.size() <= Math.max(columns[0], columns[1])) {
+            throw new IllegalArgumentException("missing columns");
+        }
+        return new CustomerInsertRequest(fields.get(columns[0]), fields.get(columns[1]));
+    }
+
+    private void writeReport(Writer report, Object value) throws IOException {
+        report.write(objectMapper.writeValueAsString(value));
+        report.write('\n');
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.sample.customer;
+
+import com.example.sample.common.exception.Common400Exception;
+import com.example.sample.common.exception.Common409Exception;
+import com.example.sample.common.exception.Common412Exception;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+// CustomerService 의 public 메서드마다 customer.service 타이머를 남긴다. (tag: method, outcome)
+// 트랜잭션 바깥에서 감싸야 커밋 시간까지 포함되므로 트랜잭션 advisor 보다 먼저 실행한다.
+@Aspect
+@Component
+@Order(0)
+public class CustomerMetrics {
+
+    static final String timerName = "customer.service";
+
+    enum Outcome { SUCCESS, NOT_FOUND, CLIENT_ERROR, CONFLICT, SERVER_ERROR }
+
+    private final MeterRegistry meterRegistry;
+
+    public CustomerMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.example.sample.customer.CustomerService.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Outcome outcome = Outcome.SERVER_ERROR;
+        try {
+            Object result = joinPoint.proceed();
+            outcome = outcomeOf(result);
+            return result;
+        } catch (Common400Exception exception) {
+            outcome = Outcome.CLIENT_ERROR;
+            throw exception;
+        } catch (Common409Exception | Common412Exception exception) {
+            outcome = Outcome.CONFLICT;
+            throw exception;
+        } finally {
+            sample.stop(Timer.builder(timerName)
+                    .description("CustomerService 처리 시간")
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    // 조회 / 수정 / 삭제 대상이 없으면 Optional.empty 또는 false 를 돌려준다.
+    private Outcome outcomeOf(Object result) {
+        if (result instanceof Optional<?> optional && optional.isEmpty()) {
+            return Outcome.NOT_FOUND;
+        }
+        if (Boolean.FALSE.equals(result)) {
+            return Outcome.NOT_FOUND;
+        }
+        return Outcome.SUCCESS;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.sample.customer;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record CustomerMultiGetResult(
+        @Schema(description = "고객 정보, 요청한 id 순서 (중복 id 는 한 번만)")
+        List<CustomerDTO> content,
+
+        @Schema(description = "존재하지 않는 고객 id")
+        List<Long> missing
+) {
+}
@@ -0,0 +1,296 @@
+package com.example.sample.customer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+// 고객 이름 검색용 메모리 역색인
+// - 음절 1, 2-gram 색인: 부분 일치 ("진희" -> 박진희)
+// - 초성 1, 2-gram 색인: 초성 / 초성 + 음절 섞인 검색 ("ㅂㅈㅎ", "박ㅈ" -> 박진희)
+// 후보는 가장 짧은 posting 에서 maxCandidates 개까지만 확인해서 응답 시간을 제한한다.
+@Component
+public class CustomerNameIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerNameIndex.class);
+
+    private static final char[] initials = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ".toCharArray();
+    private static final char hangulBegin = 0xAC00;
+    private static final char hangulEnd = 0xD7A3;
+
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxCandidates;
+
+    private final Map<Long, CustomerDTO> customers = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> syllableGrams = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> initialGrams = new ConcurrentHashMap<>();
+
+    // 초기 적재 중에 이벤트로 추가 / 수정 / 삭제된 id, 적재가 더 오래된 스냅샷으로 덮어쓰거나 되살리지 않도록 한다. (this 로 동기화)
+    private Set<Long> changedWhileBuilding;
+
+    public CustomerNameIndex(
+            CustomerRepository customerRepository,
+            PlatformTransactionManager transactionManager,
+            CustomerProperties properties
+    ) {
+        this.customerRepository = customerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.maxCandidates = properties.nameIndex().maxCandidates();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        synchronized (this) {
+            changedWhileBuilding = new HashSet<>();
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<CustomerDTO> stream = customerRepository.streamAllDTO()) {
+                    stream.forEach(this::addIfUnchanged);
+                }
+            });
+        } finally {
+            synchronized (this) {
+                changedWhileBuilding = null;
+            }
+        }
+        log.info("customer name index built ({} customers)", customers.size());
+    }
+
+    @TransactionalEventListener
+    public void onCustomerEvent(CustomerEvent event) {
+        if (event.type() == CustomerEvent.Type.DELETED) {
+            remove(event.customer().id());
+        } else {
+            add(event.customer());
+        }
+    }
+
+    public synchronized void add(CustomerDTO customer) {
+        if (changedWhileBuilding != null) {
+            changedWhileBuilding.add(customer.id());
+        }
+        put(customer);
+    }
+
+    public synchronized void remove(Long id) {
+        if (changedWhileBuilding != null) {
+            changedWhileBuilding.add(id);
+        }
+        CustomerDTO previous = customers.remove(id);
+        if (previous != null) {
+            unindex(previous);
+        }
+    }
+
+    // 초기 적재, 확인과 추가를 같은 lock 안에서 해서 그사이에 들어온 이벤트를 덮어쓰지 않는다.
+    private synchronized void addIfUnchanged(CustomerDTO customer) {
+        if (!changedWhileBuilding.contains(customer.id()) && !customers.containsKey(customer.id())) {
+            put(customer);
+        }
+    }
+
+    private void put(CustomerDTO customer) {
+        CustomerDTO previous = customers.put(customer.id(), customer);
+        if (previous != null) {
+            unindex(previous);
+        }
+        index(customer);
+    }
+
+    public int size() {
+        return customers.size();
+    }
+
+    public List<CustomerDTO> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+
+        boolean hasInitial = normalized.chars().anyMatch(c -> isInitial((char) c));
+        Set<Long> candidates = hasInitial
+                ? smallestPosting(initialGrams, queryGrams(toInitials(normalized)))
+                : smallestPosting(syllableGrams, queryGrams(normalized));
+        if (candidates == null) {
+            return List.of();
+        }
+
+        List<Match> matches = new ArrayList<>();
+        int checked = 0;
+        for (Long id : candidates) {
+            if (++checked > maxCandidates) {
+                break;
+            }
+            CustomerDTO customer = customers.get(id);
+            if (customer == null) {
+                continue;
+            }
+            String name = normalize(customer.name());
+            int position = indexOf(name, normalized);
+            if (position >= 0) {
+                matches.add(new Match(customer, rank(name, normalized, position), position));
+            }
+        }
+
+        return matches.stream()
+                .sorted(Comparator.comparingInt(Match::rank)
+                        .thenComparingInt(Match::position)
+                        .thenComparingInt(match -> match.customer().name().length())
+                        .thenComparingLong(match -> match.customer().id()))
+                .limit(limit)
+                .map(Match::customer)
+                .toList();
+    }
+
+    private void index(CustomerDTO customer) {
+        String name = normalize(customer.name());
+        for (String gram : indexGrams(name)) {
+            syllableGrams.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(customer.id());
+        }
+        for (String gram : indexGrams(toInitials(name))) {
+            initialGrams.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(customer.id());
+        }
+    }
+
+    private void unindex(CustomerDTO customer) {
+        String name = normalize(customer.name());
+        for (String gram : indexGrams(name)) {
+            removePosting(syllableGrams, gram, customer.id());
+        }
+        for (String gram : indexGrams(toInitials(name))) {
+            removePosting(initialGrams, gram, customer.id());
+        }
+    }
+
+    private static void removePosting(Map<String, Set<Long>> postings, String gram, Long id) {
+        Set<Long> ids = postings.get(gram);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    // 모든 gram 을 포함해야 하므로 가장 짧은 posting 만 후보로 확인하면 된다.
+    private static Set<Long> smallestPosting(Map<String, Set<Long>> postings, Set<String> grams) {
+        Set<Long> smallest = null;
+        for (String gram : grams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return null;
+            }
+            if (smallest == null || ids.size() < smallest.size()) {
+                smallest = ids;
+            }
+        }
+        return smallest;
+    }
+
+    // 색인은 1, 2-gram 을 모두 넣는다.
+    private static Set<String> indexGrams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i < value.length(); i++) {
+            grams.add(value.substring(i, i + 1));
+            if (i + 1 < value.length()) {
+                grams.add(value.substring(i, i + 2));
+            }
+        }
+        return grams;
+    }
+
+    // 검색어는 한 글자면 1-gram, 두 글자 이상이면 2-gram
+    private static Set<String> queryGrams(String value) {
+        if (value.length() == 1) {
+            return Set.of(value);
+        }
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 1 < value.length(); i++) {
+            grams.add(value.substring(i, i + 2));
+        }
+        return grams;
+    }
+
+    // 초성은 해당 초성의 음절과, 나머지는 같은 글자와 일치한다.
+    private static int indexOf(String name, String query) {
+        for (int position = 0; position + query.length() <= name.length(); position++) {
+            int i = 0;
+            while (i < query.length() && matches(name.charAt(position + i), query.charAt(i))) {
+                i++;
+            }
+            if (i == query.length()) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean matches(char nameChar, char queryChar) {
+        return nameChar == queryChar || (isInitial(queryChar) && toInitial(nameChar) == queryChar);
+    }
+
+    // 0: 정확히 일치, 1: 앞부분 일치, 2: 부분 일치
+    private static int rank(String name, String query, int position) {
+        if (position > 0) {
+            return 2;
+        }
+        return name.length() == query.length() ? 0 : 1;
+    }
+
+    private static String toInitials(String value) {
+        StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            builder.append(toInitial(value.charAt(i)));
+        }
+        return builder.toString();
+    }
+
+    private static char toInitial(char c) {
+        if (c >= hangulBegin && c <= hangulEnd) {
+            return initials[(c - hangulBegin) / 588];
+        }
+        return c;
+    }
+
+    private static boolean isInitial(char c) {
+        for (char initial : initials) {
+            if (initial == c) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                builder.append(Character.toLowerCase(c));
+            }
+        }
+        return builder.toString();
+    }
+
+    private record Match(CustomerDTO customer, int rank, int position) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.sample.customer;
+
+import com.example.sample.common.exception.ProblemMessages;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+// 고객 API 가 예외로 던지는 고정 메시지
+// CustomerConstant 의 xxxMessage 상수 중 값이 들어가지 않는(format 이 아닌) 것을 모두 넣는다. 새 메시지를 따로 등록하지 않아도 된다.
+@Component
+public class CustomerProblemMessages implements ProblemMessages {
+
+    private static final List<String> messages = Arrays.stream(CustomerConstant.class.getFields())
+            .filter(field -> field.getType() == String.class && field.getName().endsWith("Message"))
+            .map(CustomerProblemMessages::value)
+            .filter(message -> !message.contains("%"))
+            .toList();
+
+    @Override
+    public Collection<String> messages() {
+        return messages;
+    }
+
+    private static String value(Field field) {
+        try {
+            return (String) field.get(null);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
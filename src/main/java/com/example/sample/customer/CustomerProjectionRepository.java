@@ -0,0 +1,16 @@
+package com.example.sample.customer;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Set;
+
+// 고른 필드만 select 해서 CustomerDTO 로 바로 만드는 리스트 조회 (CustomerRepository 에 합쳐진다)
+public interface CustomerProjectionRepository {
+
+    Page<CustomerDTO> findAllDTO(Set<CustomerField> fields, Pageable pageable);
+
+    // count 쿼리 없이 한 건을 더 조회해서 다음 페이지 존재 여부를 판단한다.
+    Slice<CustomerDTO> findAllDTOSlice(Set<CustomerField> fields, Pageable pageable);
+}
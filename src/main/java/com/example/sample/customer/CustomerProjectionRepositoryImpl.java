@@ -0,0 +1,84 @@
+package com.example.sample.customer;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// 엔티티를 영속성 컨텍스트에 올리지 않고 (스냅샷, EntityEntry 없이) 필요한 컬럼만 Tuple 로 읽는다.
+class CustomerProjectionRepositoryImpl implements CustomerProjectionRepository {
+
+    private static final String id = "id";
+
+    private final EntityManager entityManager;
+
+    CustomerProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<CustomerDTO> findAllDTO(Set<CustomerField> fields, Pageable pageable) {
+        List<CustomerDTO> content = query(fields, pageable, 0);
+        return PageableExecutionUtils.getPage(content, pageable, this::count);
+    }
+
+    @Override
+    public Slice<CustomerDTO> findAllDTOSlice(Set<CustomerField> fields, Pageable pageable) {
+        List<CustomerDTO> content = query(fields, pageable, 1);
+        boolean hasNext = pageable.isPaged() && content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    private List<CustomerDTO> query(Set<CustomerField> fields, Pageable pageable, int extra) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = builder.createTupleQuery();
+        Root<CustomerEntity> root = criteria.from(CustomerEntity.class);
+
+        List<Selection<?>> selections = new ArrayList<>(1 + fields.size());
+        selections.add(root.get(id).alias(id));
+        for (CustomerField field : fields) {
+            selections.add(root.get(field.getProperty()).alias(field.getProperty()));
+        }
+        criteria.multiselect(selections);
+        // 그 밖의 속성은 조회 중에 500 이 되므로 미리 거절한다.
+        CustomerField.checkSort(pageable.getSort());
+        criteria.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+
+        // JPA 는 int offset 만 받는다. 그보다 뒤는 빈 페이지다.
+        if (pageable.isPaged() && pageable.getOffset() > Integer.MAX_VALUE) {
+            return List.of();
+        }
+        TypedQuery<Tuple> query = entityManager.createQuery(criteria);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize() + extra);
+        }
+
+        boolean name = fields.contains(CustomerField.NAME);
+        boolean tel = fields.contains(CustomerField.TEL);
+        return query.getResultList().stream()
+                .map(tuple -> new CustomerDTO(
+                        tuple.get(id, Long.class),
+                        name ? tuple.get(CustomerField.NAME.getProperty(), String.class) : null,
+                        tel ? tuple.get(CustomerField.TEL.getProperty(), String.class) : null
+                ))
+                .toList();
+    }
+
+    private long count() {
+        return entityManager.createQuery("select count(c) from CustomerEntity c", Long.class).getSingleResult();
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.sample.customer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "customer")
+public record CustomerProperties(
+        @DefaultValue
+        Count count,
+
+        @DefaultValue
+        Batch batch,
+
+        @DefaultValue
+        Import importing,
+
+        @DefaultValue
+        NameIndex nameIndex,
+
+        @DefaultValue
+        TelFilter telFilter,
+
+        @DefaultValue
+        GroupCommit groupCommit,
+
+        @DefaultValue
+        ChangeFeed changeFeed,
+
+        @DefaultValue
+        MultiGet multiGet,
+
+        @DefaultValue
+        Sharding sharding,
+
+        @DefaultValue
+        Columnar columnar
+) {
+
+    public record Count(
+            // 캐시된 전체 고객 수를 다시 count 하기까지 허용하는 최대 시간
+            @DefaultValue("30s")
+            Duration maxStaleness
+    ) {}
+
+    public record Batch(
+            // POST /customer/batch 한 번에 받을 수 있는 최대 고객 수
+            @DefaultValue("10000")
+            int maxSize,
+
+            // flush / clear 단위, hibernate.jdbc.batch_size 와 맞춘다.
+            @DefaultValue("50")
+            int chunkSize
+    ) {}
+
+    public record Import(
+            // POST /customer/import 에서 한 트랜잭션으로 커밋하는 줄 수
+            @DefaultValue("1000")
+            int chunkSize,
+
+            // 한 줄의 최대 글자 수, 넘는 줄은 읽지 않고 실패로 기록한다.
+            @DefaultValue("1024")
+            int maxLineLength
+    ) {}
+
+    public record NameIndex(
+            // 이름 검색 한 번에 확인하는 최대 후보 수, 넓은 검색어("김")의 응답 시간을 제한한다.
+            @DefaultValue("10000")
+            int maxCandidates
+    ) {}
+
+    public record TelFilter(
+            // Bloom filter 크기를 정하는 예상 고객 수, 넘으면 두 배로 다시 만든다.
+            @DefaultValue("1000000")
+            int expectedInsertions,
+
+            // 새 번호인데 "있을 수도 있음" 으로 판단해 조회하게 되는 비율
+            @DefaultValue("0.01")
+            double falsePositiveRate
+    ) {}
+
+    public record GroupCommit(
+            // 켜면 POST /customer 단건 저장을 모아서 한 트랜잭션으로 커밋한다.
+            @DefaultValue("false")
+            boolean enabled,
+
+            // 한 번에 커밋하는 최대 건수, hibernate.jdbc.batch_size 와 맞춘다.
+            @DefaultValue("50")
+            int maxBatchSize,
+
+            // 첫 요청이 들어온 뒤 더 모으기 위해 기다리는 최대 시간 (응답 지연 예산)
+            @DefaultValue("5ms")
+            Duration maxDelay,
+
+            // 대기 큐 크기, 가득 차면 호출 스레드에서 바로 저장한다.
+            @DefaultValue("10000")
+            int queueCapacity,
+
+            // 커밋을 기다리는 최대 시간, 넘으면 503 + Retry-After 로 응답한다.
+            @DefaultValue("5s")
+            Duration commitTimeout
+    ) {}
+
+    public record ChangeFeed(
+            // 재연결 시 이어 받을 수 있는 최근 변경 수, 이보다 밀리면 reset 후 다시 조회해야 한다.
+            @DefaultValue("10000")
+            int capacity,
+
+            // 구독 연결 최대 시간, 지나면 끊기고 클라이언트가 Last-Event-ID 로 다시 연결한다.
+            @DefaultValue("30m")
+            Duration timeout,
+
+            // 끊긴 연결을 찾기 위한 빈 comment 전송 주기
+            @DefaultValue("15s")
+            Duration heartbeat,
+
+            // 구독자에게 보내는 스레드 중 항상 유지하는 수, 전송이 막힌 구독자가 있으면 max-threads 까지 더 만든다.
+            @DefaultValue("2")
+            int threads,
+
+            // 보내는 스레드의 최대 수, 모두 막혀 있으면 다른 구독자는 스레드가 풀릴 때까지 기다린다.
+            @DefaultValue("16")
+            int maxThreads,
+
+            // 동시 구독자 최대 수, 넘으면 구독 요청을 503 으로 거절한다.
+            @DefaultValue("1000")
+            int maxSubscribers,
+
+            // 이벤트 하나를 보내는 최대 시간, 넘기면 응답을 읽지 않는 구독자로 보고 끊는다.
+            @DefaultValue("10s")
+            Duration writeTimeout
+    ) {}
+
+    public record MultiGet(
+            // GET /customer?ids= 한 번에 조회할 수 있는 최대 id 수
+            @DefaultValue("100")
+            int maxSize,
+
+            // in 절 하나에 넣는 최대 id 수
+            @DefaultValue("100")
+            int chunkSize
+    ) {}
+
+    public record Sharding(
+            // 켜면 고객을 id 해시로 shards 에 나눠 저장한다. (spring.datasource 의 customer 테이블은 쓰지 않는다)
+            @DefaultValue("false")
+            boolean enabled,
+
+            // id 생성기의 노드 번호 (0 ~ 1023), 노드마다 달라야 id 가 겹치지 않는다.
+            @DefaultValue("0")
+            int workerId,
+
+            // 순서가 곧 샤드 번호다. 개수나 순서를 바꾸면 기존 고객의 위치가 달라진다.
+            @DefaultValue
+            List<Shard> shards
+    ) {}
+
+    public record Shard(
+            String url,
+            String username,
+            String password
+    ) {}
+
+    public record Columnar(
+            // 켜면 CustomerRepository 를 메모리 컬럼 저장소(ColumnarCustomerRepository)로 바꾼다. 데이터가 메모리에 들어가는 읽기 위주 노드용
+            @DefaultValue("false")
+            boolean enabled,
+
+            // enabled 이면 반드시 있어야 한다. (DB 에 다시 쓰지 않으므로 변경은 스냅샷에만 남는다) 파일이 있으면 시작할 때 spring.datasource 대신 읽는다.
+            String snapshotPath,
+
+            // 변경이 있을 때 스냅샷을 쓰는 주기, 종료할 때도 한 번 쓴다.
+            @DefaultValue("1m")
+            Duration snapshotInterval
+    ) {}
+}
@@ -1,6 +1,66 @@
 package com.example.sample.customer;
 
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface CustomerRepository extends JpaRepository<CustomerEntity, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// 조회는 CustomerDTO 로 바로 만들어서 (constructor expression) 영속성 컨텍스트를 거치지 않는다.
+public interface CustomerRepository extends JpaRepository<CustomerEntity, Long>, CustomerProjectionRepository {
+
+    // keyset 페이징, count 쿼리 없이 pageable 의 크기만큼만 조회한다.
+    List<CustomerDTO> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    List<CustomerDTO> findByIdLessThanOrderByIdDesc(Long id, Pageable pageable);
+
+    // 전체 내보내기 / 이름 색인용 forward-only 스트림, 트랜잭션 안에서 사용하고 반드시 close 해야 한다.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.example.sample.customer.CustomerDTO(c.id, c.name, c.tel) from CustomerEntity c order by c.id")
+    Stream<CustomerDTO> streamAllDTO();
+
+    // 중복 번호 확인용 id 없이 한 번에 보는 전화번호 스트림
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select c.tel from CustomerEntity c")
+    Stream<String> streamAllTel();
+
+    // uk_customer_tel 을 타는 정확히 일치 / 앞부분 일치(like 'prefix%') 검색
+    List<CustomerDTO> findByTel(String tel);
+
+    List<CustomerDTO> findByTelStartingWithOrderByTelAscIdAsc(String prefix, Pageable pageable);
+
+    boolean existsByTel(String tel);
+
+    boolean existsByTelAndIdNot(String tel, Long id);
+
+    // 여러 id 를 in 절 하나로 조회, 영속성 컨텍스트를 거치지 않는다.
+    @Query("select new com.example.sample.customer.CustomerDTO(c.id, c.name, c.tel) from CustomerEntity c where c.id in :ids")
+    List<CustomerDTO> findAllDTOByIdIn(Collection<Long> ids);
+
+    @Query("select c.version from CustomerEntity c where c.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    // 조회 없이 한 번의 update / delete 로 처리하고 영향받은 행 수를 돌려준다.
+    @Modifying
+    @Query("update CustomerEntity c set c.name = :name, c.tel = :tel, c.version = c.version + 1 where c.id = :id")
+    int updateCustomer(Long id, String name, String tel);
+
+    @Modifying
+    @Query("update CustomerEntity c set c.name = :name, c.tel = :tel, c.version = c.version + 1 where c.id = :id and c.version = :version")
+    int updateCustomerIfVersion(Long id, Long version, String name, String tel);
+
+    @Modifying
+    @Query("delete from CustomerEntity c where c.id = :id")
+    int deleteCustomer(Long id);
+
+    @Modifying
+    @Query("delete from CustomerEntity c where c.id = :id and c.version = :version")
+    int deleteCustomerIfVersion(Long id, Long version);
 }
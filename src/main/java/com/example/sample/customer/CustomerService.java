@@ -1,52 +1,408 @@
 package com.example.sample.customer;
 
+import com.example.sample.common.datasource.WriteMarker;
+import com.example.sample.common.exception.Common400Exception;
+import com.example.sample.common.exception.Common409Exception;
+import com.example.sample.common.exception.Common412Exception;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true)
 public class CustomerService {
 
     private final CustomerRepository customerRepository;
+    private final CustomerCounter customerCounter;
+    private final CustomerCache customerCache;
+    private final CustomerNameIndex customerNameIndex;
+    private final CustomerTelFilter customerTelFilter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final CustomerProperties properties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate writeTemplate;
+    // customer.group-commit.enabled 일 때만 생성
+    private final CustomerGroupCommitter groupCommitter;
+    // customer.sharding.enabled 일 때만 있고, 있으면 customerRepository 대신 샤드에서 읽고 쓴다.
+    private final CustomerShards shards;
+    // datasource.routing.enabled 일 때만 있다. (group commit 은 다른 스레드에서 커밋하므로 요청 스레드에서 표시한다)
+    private final ObjectProvider<WriteMarker> writeMarker;
 
-    public CustomerService(CustomerRepository customerRepository) {
+    public CustomerService(
+            CustomerRepository customerRepository,
+            CustomerCounter customerCounter,
+            CustomerCache customerCache,
+            CustomerNameIndex customerNameIndex,
+            CustomerTelFilter customerTelFilter,
+            ApplicationEventPublisher eventPublisher,
+            EntityManager entityManager,
+            CustomerProperties properties,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            ObjectProvider<CustomerShards> shards,
+            ObjectProvider<WriteMarker> writeMarker
+    ) {
         this.customerRepository = customerRepository;
+        this.customerCounter = customerCounter;
+        this.customerCache = customerCache;
+        this.customerNameIndex = customerNameIndex;
+        this.customerTelFilter = customerTelFilter;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.shards = shards.getIfAvailable();
+        this.writeMarker = writeMarker;
+        this.groupCommitter = properties.groupCommit().enabled()
+                ? new CustomerGroupCommitter(
+                        properties.groupCommit(),
+                        meterRegistry,
+                        requests -> writeTemplate.execute(status -> insertAll(requests)),
+                        request -> writeTemplate.execute(status -> insert(request)))
+                : null;
     }
 
-    public Page<CustomerDTO> getCustomers(Pageable pageable) {
-        return customerRepository.findAll(pageable)
-                .map(CustomerEntity::toDTO);
+    @PreDestroy
+    public void close() {
+        if (groupCommitter != null) {
+            groupCommitter.close();
+        }
+    }
+
+    // fields 에 없는 필드는 select 하지 않고 null 로 둔다. (응답에서 빠진다)
+    // 정렬은 저장소에서도 확인하지만, JPA 저장소는 예외를 DataAccessException 으로 감싸므로 여기서 먼저 400 으로 거절한다.
+    public Page<CustomerDTO> getCustomers(Pageable pageable, Set<CustomerField> fields) {
+        CustomerField.checkSort(pageable.getSort());
+        return shards != null
+                ? shards.findAllDTO(fields, pageable)
+                : customerRepository.findAllDTO(fields, pageable);
+    }
+
+    public CustomerSlice getCustomerSlice(Pageable pageable, Set<CustomerField> fields, boolean withTotal) {
+        CustomerField.checkSort(pageable.getSort());
+        Slice<CustomerDTO> slice = shards != null
+                ? shards.findAllDTOSlice(fields, pageable)
+                : customerRepository.findAllDTOSlice(fields, pageable);
+        return new CustomerSlice(
+                slice.getContent(),
+                slice.getNumber(),
+                slice.getSize(),
+                slice.hasNext(),
+                withTotal ? (shards != null ? shards.count() : customerCounter.get()) : null
+        );
+    }
+
+    public CustomerCursorPage getCustomerCursorPage(String after, String before, int size) {
+        if (after != null && before != null) {
+            throw new Common400Exception(CustomerConstant.cursorConflictMessage);
+        }
+
+        // 한 건을 더 조회해서 다음(이전) 페이지 존재 여부를 판단한다.
+        Pageable limit = PageRequest.ofSize(size + 1);
+        if (before != null) {
+            List<CustomerDTO> rows = shards != null
+                    ? shards.findByIdLessThanOrderByIdDesc(CustomerCursor.decode(before), limit)
+                    : customerRepository.findByIdLessThanOrderByIdDesc(CustomerCursor.decode(before), limit);
+            List<CustomerDTO> content = new ArrayList<>(rows.subList(0, Math.min(size, rows.size())));
+            Collections.reverse(content);
+            return new CustomerCursorPage(
+                    content,
+                    size,
+                    content.isEmpty() ? null : CustomerCursor.encode(content.get(content.size() - 1).id()),
+                    rows.size() > size ? CustomerCursor.encode(content.get(0).id()) : null
+            );
+        }
+
+        Long afterId = after == null ? 0L : CustomerCursor.decode(after);
+        List<CustomerDTO> rows = shards != null
+                ? shards.findByIdGreaterThanOrderByIdAsc(afterId, limit)
+                : customerRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit);
+        List<CustomerDTO> content = rows.subList(0, Math.min(size, rows.size()));
+        return new CustomerCursorPage(
+                content,
+                size,
+                rows.size() > size ? CustomerCursor.encode(content.get(content.size() - 1).id()) : null,
+                after != null && !content.isEmpty() ? CustomerCursor.encode(content.get(0).id()) : null
+        );
+    }
+
+    public List<CustomerDTO> searchByTel(String tel, boolean exact, int size) {
+        List<CustomerDTO> customers;
+        if (shards != null) {
+            customers = exact
+                    ? shards.findByTel(tel)
+                    : shards.findByTelStartingWithOrderByTelAscIdAsc(tel, PageRequest.ofSize(size));
+        } else {
+            customers = exact
+                    ? customerRepository.findByTel(tel)
+                    : customerRepository.findByTelStartingWithOrderByTelAscIdAsc(tel, PageRequest.ofSize(size));
+        }
+        return customers.size() > size ? customers.subList(0, size) : customers;
+    }
+
+    // 이름 색인은 기동 시 spring.datasource 에서 만들기 때문에 샤드의 고객을 모두 담지 못한다.
+    public List<CustomerDTO> searchByName(String name, int size) {
+        checkNotSharded();
+        return customerNameIndex.search(name, size);
+    }
+
+    // DTO 스트림이라 영속성 컨텍스트에 쌓이지 않아 테이블 크기와 관계없이 힙 사용량이 일정하다.
+    public void exportCustomers(CustomerFileFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == CustomerFileFormat.CSV) {
+            writer.write(CustomerCsv.header);
+            writer.write('\n');
+        }
+
+        try (Stream<CustomerDTO> customers = shards != null ? shards.streamAllDTO() : customerRepository.streamAllDTO()) {
+            Iterator<CustomerDTO> iterator = customers.iterator();
+            while (iterator.hasNext()) {
+                CustomerDTO dto = iterator.next();
+                if (format == CustomerFileFormat.CSV) {
+                    CustomerCsv.writeRow(writer, dto);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(dto));
+                    writer.write('\n');
+                }
+            }
+        }
+        writer.flush();
     }
 
     public Optional<CustomerEntity> getCustomer(Long id) {
-        return customerRepository.findById(id);
+        return customerCache.get(id, () -> shards != null ? shards.findById(id) : customerRepository.findById(id));
     }
 
-    @Transactional
-    public CustomerEntity update(CustomerUpdateRequest request, CustomerEntity entity) {
-        entity.setTel(request.tel());
-        entity.setName(request.name());
-        return customerRepository.save(entity);
+    // 캐시에 있는 것은 캐시에서, 나머지는 chunkSize 씩 in 절로 조회한다.
+    // 조회한 결과는 캐시에 넣지 않는다. (조회와 put 사이에 커밋된 변경의 evict 를 놓칠 수 있다)
+    public CustomerMultiGetResult getCustomersByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            throw new Common400Exception(CustomerConstant.emptyIdsMessage);
+        }
+        int maxSize = properties.multiGet().maxSize();
+        if (ids.size() > maxSize) {
+            throw new Common400Exception(CustomerConstant.idsSizeExceededMessage.formatted(maxSize));
+        }
+
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        Map<Long, Optional<CustomerDTO>> found = new HashMap<>(customerCache.getAllPresent(distinct));
+        List<Long> misses = distinct.stream().filter(id -> !found.containsKey(id)).toList();
+
+        int chunkSize = properties.multiGet().chunkSize();
+        for (int from = 0; from < misses.size(); from += chunkSize) {
+            List<Long> chunk = misses.subList(from, Math.min(from + chunkSize, misses.size()));
+            (shards != null ? shards.findAllDTOByIdIn(chunk) : customerRepository.findAllDTOByIdIn(chunk))
+                    .forEach(customer -> found.put(customer.id(), Optional.of(customer)));
+        }
+
+        List<CustomerDTO> content = new ArrayList<>(distinct.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : distinct) {
+            Optional<CustomerDTO> customer = found.getOrDefault(id, Optional.empty());
+            if (customer.isPresent()) {
+                content.add(customer.get());
+            } else {
+                missing.add(id);
+            }
+        }
+        return new CustomerMultiGetResult(content, missing);
     }
 
+    // If-None-Match 비교용, 캐시에 없으면 version 컬럼만 조회한다.
+    public Optional<Long> getCustomerVersion(Long id) {
+        Optional<Long> version = customerCache.peekVersion(id);
+        if (version.isPresent()) {
+            return version;
+        }
+        return shards != null ? shards.findVersionById(id) : customerRepository.findVersionById(id);
+    }
 
-    @Transactional
+    // version 이 있으면 id + version 조건의 update 한 번으로 끝내고, 0 건이면 존재 여부로 404 / 412 를 구분한다.
+    // 샤드는 샤드별 트랜잭션으로 쓰므로 기본 DataSource 의 트랜잭션(커넥션)을 열지 않는다. (save / deleteCustomer 도 같다)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<CustomerEntity> update(Long id, CustomerUpdateRequest request, Long version) {
+        if (shards != null) {
+            return shards.update(id, request, version);
+        }
+        return writeTemplate.execute(status -> updateCustomer(id, request, version));
+    }
+
+    // 트랜잭션 안에서 호출한다.
+    private Optional<CustomerEntity> updateCustomer(Long id, CustomerUpdateRequest request, Long version) {
+        if (customerTelFilter.mightContain(request.tel()) && customerRepository.existsByTelAndIdNot(request.tel(), id)) {
+            throw new Common409Exception(CustomerConstant.duplicateTelMessage);
+        }
+        int updated = uniqueTel(() -> version == null
+                ? customerRepository.updateCustomer(id, request.name(), request.tel())
+                : customerRepository.updateCustomerIfVersion(id, version, request.name(), request.tel()));
+        if (updated == 0) {
+            checkVersionConflict(id, version);
+            return Optional.empty();
+        }
+
+        // 조건 없는 update 는 이전 version 을 모르므로 같은 트랜잭션에서 다시 읽어 ETag 를 만든다.
+        Long updatedVersion = version != null ? version + 1 : customerRepository.findVersionById(id).orElse(null);
+        CustomerEntity customer = new CustomerEntity(id, request.name(), request.tel(), updatedVersion);
+        eventPublisher.publishEvent(new CustomerEvent(CustomerEvent.Type.UPDATED, customer.toDTO()));
+        return Optional.of(customer);
+    }
+
+
+    // Bloom filter 에 없는 번호는 중복 확인 select 없이 바로 저장한다.
+    // 그룹 커밋을 켜면 호출 스레드는 트랜잭션(커넥션) 없이 배치 커밋 결과만 기다린다.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CustomerEntity save(CustomerInsertRequest request) {
-        return customerRepository.save(new CustomerEntity(
+        if (shards != null) {
+            return shards.insert(request);
+        }
+        if (isTelRegistered(request.tel())) {
+            throw new Common409Exception(CustomerConstant.duplicateTelMessage);
+        }
+        if (groupCommitter != null) {
+            CustomerEntity customer = groupCommitter.submit(request);
+            writeMarker.ifAvailable(WriteMarker::markWrite);
+            return customer;
+        }
+        return writeTemplate.execute(status -> insert(request));
+    }
+
+    // 이미 등록된 번호인지, Bloom filter 에 없는 번호는 조회하지 않는다. (샤드는 filter 를 쓰지 않는다)
+    // 클래스의 readOnly 트랜잭션을 따르면 replica 로 가서 복제 지연 동안 중복을 놓치므로 트랜잭션 없이 primary 에서 확인한다.
+    // save 는 this 로 호출하지만 save 도 NOT_SUPPORTED 라서 같다.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean isTelRegistered(String tel) {
+        if (shards != null) {
+            return !shards.findByTel(tel).isEmpty();
+        }
+        return customerTelFilter.mightContain(tel) && customerRepository.existsByTel(tel);
+    }
+
+    @Transactional
+    // 여러 샤드에 걸친 저장은 한 트랜잭션으로 묶을 수 없다.
+    public List<CustomerEntity> saveAll(List<CustomerInsertRequest> requests) {
+        checkNotSharded();
+        int maxSize = properties.batch().maxSize();
+        if (requests.size() > maxSize) {
+            throw new Common400Exception(CustomerConstant.batchSizeExceededMessage.formatted(maxSize));
+        }
+
+        return insertAll(requests);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean deleteCustomer(Long id, Long version) {
+        if (shards != null) {
+            return shards.delete(id, version);
+        }
+        return Boolean.TRUE.equals(writeTemplate.execute(status -> deleteCustomerRow(id, version)));
+    }
+
+    // 트랜잭션 안에서 호출한다.
+    private boolean deleteCustomerRow(Long id, Long version) {
+        int deleted = version == null
+                ? customerRepository.deleteCustomer(id)
+                : customerRepository.deleteCustomerIfVersion(id, version);
+        if (deleted == 0) {
+            checkVersionConflict(id, version);
+            return false;
+        }
+
+        eventPublisher.publishEvent(new CustomerEvent(CustomerEvent.Type.DELETED, new CustomerDTO(id, null, null)));
+        return true;
+    }
+
+    // 트랜잭션 안에서 호출한다.
+    private CustomerEntity insert(CustomerInsertRequest request) {
+        CustomerEntity customer = uniqueTel(() -> customerRepository.saveAndFlush(new CustomerEntity(
             null,
             request.name(),
             request.tel()
-        ));
+        )));
+        eventPublisher.publishEvent(new CustomerEvent(CustomerEvent.Type.INSERTED, customer.toDTO()));
+        return customer;
     }
 
-    @Transactional
-    public void deleteCustomer(CustomerEntity customer) {
-        customerRepository.delete(customer);
+    // 트랜잭션 안에서 호출한다.
+    // chunkSize 단위로 flush 해서 JDBC batch insert 로 보내고, 영속성 컨텍스트를 비워 메모리를 일정하게 유지한다.
+    private List<CustomerEntity> insertAll(List<CustomerInsertRequest> requests) {
+        int chunkSize = properties.batch().chunkSize();
+        List<CustomerEntity> customers = new ArrayList<>(requests.size());
+        for (int from = 0; from < requests.size(); from += chunkSize) {
+            List<CustomerEntity> chunk = requests.subList(from, Math.min(from + chunkSize, requests.size())).stream()
+                    .map(request -> new CustomerEntity(null, request.name(), request.tel()))
+                    .toList();
+            uniqueTel(() -> {
+                customerRepository.saveAll(chunk);
+                customerRepository.flush();
+                return chunk;
+            });
+            entityManager.clear();
+
+            for (CustomerEntity customer : chunk) {
+                eventPublisher.publishEvent(new CustomerEvent(CustomerEvent.Type.INSERTED, customer.toDTO()));
+            }
+            customers.addAll(chunk);
+        }
+        return customers;
+    }
+
+    // 확인과 저장 사이에 같은 번호가 먼저 저장된 경우는 uk_customer_tel 위반으로 들어온다.
+    private <T> T uniqueTel(Supplier<T> action) {
+        try {
+            return action.get();
+        } catch (DataIntegrityViolationException e) {
+            throw new Common409Exception(CustomerConstant.duplicateTelMessage);
+        }
+    }
+
+    public boolean isSharded() {
+        return shards != null;
+    }
+
+    private void checkNotSharded() {
+        if (shards != null) {
+            throw new Common400Exception(CustomerConstant.shardingUnsupportedMessage);
+        }
+    }
+
+    private void checkVersionConflict(Long id, Long version) {
+        if (version != null && customerRepository.existsById(id)) {
+            throw new Common412Exception(CustomerConstant.versionMismatchMessage);
+        }
     }
 
 }
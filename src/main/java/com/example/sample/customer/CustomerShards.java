@@ -0,0 +1,400 @@
+package com.example.sample.customer;
+
+import com.example.sample.common.exception.Common400Exception;
+import com.example.sample.common.exception.Common409Exception;
+import com.example.sample.common.exception.Common412Exception;
+import com.example.sample.common.id.SnowflakeIdGenerator;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// customer.sharding.enabled 일 때 고객을 id 해시로 여러 DB(샤드)에 나눠 저장한다.
+// - id 는 SnowflakeIdGenerator 로 만들어 샤드 간 조율 없이 유일하고, id 만으로 샤드가 정해진다.
+// - 단건 조회 / 수정 / 삭제는 해당 샤드 하나로 보낸다.
+// - 목록은 모든 샤드에서 같은 정렬로 offset + size 건씩 동시에 받아 k-way merge 한다. (깊은 페이지일수록 비싸다)
+// - 번호 중복은 모든 샤드를 확인한 뒤 저장하고, 샤드 안에서는 uk_customer_tel 이 최종 판단한다.
+//   서로 다른 샤드로 가는 같은 번호의 동시 저장은 막지 못한다.
+// 메서드 이름은 CustomerRepository 와 맞춘다.
+@Component
+@ConditionalOnProperty(prefix = "customer.sharding", name = "enabled", havingValue = "true")
+public class CustomerShards {
+
+    private static final String columns = "id, name, tel";
+
+    // order by 에 그대로 들어가므로 이 속성만 허용한다. 문자열 비교는 DB 도 binary(H2 기본) 순서여야 merge 결과가 맞다.
+    private static final Map<String, Comparator<CustomerDTO>> sortable = Map.of(
+            "id", Comparator.comparing(CustomerDTO::id),
+            "name", Comparator.comparing(CustomerDTO::name),
+            "tel", Comparator.comparing(CustomerDTO::tel)
+    );
+
+    private static final RowMapper<CustomerDTO> dtoMapper = (rs, rowNum) -> new CustomerDTO(
+            rs.getLong("id"), rs.getString("name"), rs.getString("tel")
+    );
+
+    private static final RowMapper<CustomerEntity> entityMapper = (rs, rowNum) -> new CustomerEntity(
+            rs.getLong("id"), rs.getString("name"), rs.getString("tel"), rs.getLong("version")
+    );
+
+    private record Shard(HikariDataSource dataSource, JdbcTemplate jdbcTemplate, TransactionTemplate writeTemplate) {}
+
+    private final List<Shard> shards;
+    private final SnowflakeIdGenerator idGenerator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService executor;
+
+    public CustomerShards(
+            CustomerProperties properties,
+            ApplicationEventPublisher eventPublisher,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        List<CustomerProperties.Shard> shardProperties = properties.sharding().shards();
+        if (shardProperties.isEmpty()) {
+            throw new IllegalStateException("customer.sharding.shards is empty");
+        }
+        this.shards = IntStream.range(0, shardProperties.size())
+                .mapToObj(i -> shard(i, shardProperties.get(i), meterRegistry))
+                .toList();
+        this.idGenerator = new SnowflakeIdGenerator(properties.sharding().workerId());
+        this.eventPublisher = eventPublisher;
+        // 동시에 받을 수 있는 조회 수는 샤드 커넥션 수가 정한다. 스레드 수가 그보다 적으면 요청이 몰릴 때 풀을 다 쓰지 못한다.
+        int threads = shards.stream().mapToInt(shard -> shard.dataSource().getMaximumPoolSize()).sum();
+        this.executor = Executors.newFixedThreadPool(threads, daemonThreads());
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+        shards.forEach(shard -> shard.dataSource().close());
+    }
+
+    public int size() {
+        return shards.size();
+    }
+
+    // Snowflake id 는 하위 비트(순번)가 대부분 0 이라 그대로 나누면 한쪽으로 몰린다. 섞은 뒤 나눈다. (murmur3 fmix64)
+    public int shardOf(long id) {
+        long hash = id;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return (int) Math.floorMod(hash, (long) shards.size());
+    }
+
+    public long count() {
+        return scatter(shards, shard -> shard.jdbcTemplate().queryForObject("select count(*) from customer", Long.class))
+                .stream().mapToLong(Long::longValue).sum();
+    }
+
+    // 샤드별 고객 수
+    public List<Long> countByShard() {
+        return shards.stream()
+                .map(shard -> shard.jdbcTemplate().queryForObject("select count(*) from customer", Long.class))
+                .toList();
+    }
+
+    public Optional<CustomerEntity> findById(long id) {
+        return shard(id).jdbcTemplate()
+                .query("select id, name, tel, version from customer where id = ?", entityMapper, id)
+                .stream().findFirst();
+    }
+
+    public Optional<Long> findVersionById(long id) {
+        return shard(id).jdbcTemplate()
+                .queryForList("select version from customer where id = ?", Long.class, id)
+                .stream().findFirst();
+    }
+
+    public Page<CustomerDTO> findAllDTO(Set<CustomerField> fields, Pageable pageable) {
+        List<CustomerDTO> content = findSorted("", List.of(), pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(project(content, fields), pageable, this::count);
+    }
+
+    public Slice<CustomerDTO> findAllDTOSlice(Set<CustomerField> fields, Pageable pageable) {
+        List<CustomerDTO> content = findSorted("", List.of(), pageable.getSort(), pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(project(hasNext ? content.subList(0, pageable.getPageSize()) : content, fields), pageable, hasNext);
+    }
+
+    public List<CustomerDTO> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable) {
+        return findSorted("where id > ?", List.of(id), Sort.by("id"), 0, pageable.getPageSize());
+    }
+
+    public List<CustomerDTO> findByIdLessThanOrderByIdDesc(Long id, Pageable pageable) {
+        return findSorted("where id < ?", List.of(id), Sort.by(Sort.Direction.DESC, "id"), 0, pageable.getPageSize());
+    }
+
+    public List<CustomerDTO> findByTel(String tel) {
+        return findSorted("where tel = ?", List.of(tel), Sort.by("id"), 0, Integer.MAX_VALUE);
+    }
+
+    public List<CustomerDTO> findByTelStartingWithOrderByTelAscIdAsc(String tel, Pageable pageable) {
+        return findSorted("where tel like ?", List.of(tel + "%"), Sort.by("tel"), 0, pageable.getPageSize());
+    }
+
+    // 샤드별로 묶어 샤드마다 in 절 한 번씩 동시에 조회한다.
+    public List<CustomerDTO> findAllDTOByIdIn(Collection<Long> ids) {
+        Map<Shard, List<Long>> byShard = ids.stream()
+                .collect(Collectors.groupingBy(this::shard, LinkedHashMap::new, Collectors.toList()));
+        return scatter(byShard.keySet(), shard -> {
+                    List<Long> shardIds = byShard.get(shard);
+                    String in = String.join(", ", Collections.nCopies(shardIds.size(), "?"));
+                    return shard.jdbcTemplate().query(
+                            "select " + columns + " from customer where id in (" + in + ")", dtoMapper, shardIds.toArray());
+                })
+                .stream().flatMap(List::stream).toList();
+    }
+
+    // 샤드 순서대로 이어 붙인다. (id 순서는 샤드 안에서만 지켜진다)
+    public Stream<CustomerDTO> streamAllDTO() {
+        return shards.stream().flatMap(shard -> shard.jdbcTemplate()
+                .queryForStream("select " + columns + " from customer order by id", dtoMapper));
+    }
+
+    public CustomerEntity insert(CustomerInsertRequest request) {
+        checkDuplicateTel(request.tel(), null);
+        CustomerEntity customer = new CustomerEntity(idGenerator.next(), request.name(), request.tel(), 0L);
+        Shard shard = shard(customer.getId());
+        return shard.writeTemplate().execute(status -> {
+            uniqueTel(() -> shard.jdbcTemplate().update(
+                    "insert into customer (id, name, tel, version) values (?, ?, ?, 0)",
+                    customer.getId(), customer.getName(), customer.getTel()));
+            eventPublisher.publishEvent(new CustomerEvent(CustomerEvent.Type.INSERTED, customer.toDTO()));
+            return customer;
+        });
+    }
+
+    // CustomerService.update 와 같이 0 건이면 존재 여부로 404 / 412 를 구분한다.
+    public Optional<CustomerEntity> update(Long id, CustomerUpdateRequest request, Long version) {
+        checkDuplicateTel(request.tel(), id);
+        Shard shard = shard(id);
+        return shard.writeTemplate().execute(status -> {
+            int updated = uniqueTel(() -> version == null
+                    ? shard.jdbcTemplate().update(
+                            "update customer set name = ?, tel = ?, version = version + 1 where id = ?",
+                            request.name(), request.tel(), id)
+                    : shard.jdbcTemplate().update(
+                            "update customer set name = ?, tel = ?, version = version + 1 where id = ? and version = ?",
+                            request.name(), request.tel(), id, version));
+            if (updated == 0) {
+                checkVersionConflict(shard, id, version);
+                return Optional.empty();
+            }
+
+            Long updatedVersion = version != null ? version + 1 : shard.jdbcTemplate()
+                    .queryForObject("select version from customer where id = ?", Long.class, id);
+            CustomerEntity customer = new CustomerEntity(id, request.name(), request.tel(), updatedVersion);
+            eventPublisher.publishEvent(new CustomerEvent(CustomerEvent.Type.UPDATED, customer.toDTO()));
+            return Optional.of(customer);
+        });
+    }
+
+    public boolean delete(Long id, Long version) {
+        Shard shard = shard(id);
+        return Boolean.TRUE.equals(shard.writeTemplate().execute(status -> {
+            int deleted = version == null
+                    ? shard.jdbcTemplate().update("delete from customer where id = ?", id)
+                    : shard.jdbcTemplate().update("delete from customer where id = ? and version = ?", id, version);
+            if (deleted == 0) {
+                checkVersionConflict(shard, id, version);
+                return false;
+            }
+
+            eventPublisher.publishEvent(new CustomerEvent(CustomerEvent.Type.DELETED, new CustomerDTO(id, null, null)));
+            return true;
+        }));
+    }
+
+    // 모든 샤드에서 같은 조건 / 정렬로 offset + limit 건씩 받아 합친 뒤 offset 건을 건너뛴다.
+    private List<CustomerDTO> findSorted(String where, List<Object> args, Sort sort, long offset, int limit) {
+        // 같은 값이 여러 샤드에 있어도 순서가 정해지도록 id 를 마지막 정렬 기준으로 붙인다.
+        Sort total = sort.getOrderFor("id") == null ? sort.and(Sort.by("id")) : sort;
+        String orderBy = total.stream()
+                .map(order -> column(order.getProperty()) + (order.isAscending() ? " asc" : " desc"))
+                .collect(Collectors.joining(", "));
+        long perShard = Math.min(offset + limit, Integer.MAX_VALUE);
+
+        List<Object> params = new ArrayList<>(args);
+        params.add(perShard);
+        String sql = "select " + columns + " from customer " + where + " order by " + orderBy + " limit ?";
+        List<List<CustomerDTO>> sorted = scatter(shards, shard -> shard.jdbcTemplate().query(sql, dtoMapper, params.toArray()));
+        return merge(sorted, comparator(total), offset, limit);
+    }
+
+    // 샤드별로 정렬된 목록을 우선순위 큐(샤드 수 크기)로 합친다.
+    static List<CustomerDTO> merge(List<List<CustomerDTO>> sorted, Comparator<CustomerDTO> comparator, long offset, int limit) {
+        record Head(CustomerDTO customer, Iterator<CustomerDTO> rest) {}
+
+        PriorityQueue<Head> queue = new PriorityQueue<>(Math.max(1, sorted.size()), Comparator.comparing(Head::customer, comparator));
+        for (List<CustomerDTO> rows : sorted) {
+            Iterator<CustomerDTO> iterator = rows.iterator();
+            if (iterator.hasNext()) {
+                queue.add(new Head(iterator.next(), iterator));
+            }
+        }
+
+        List<CustomerDTO> merged = new ArrayList<>();
+        long skipped = 0;
+        while (!queue.isEmpty() && merged.size() < limit) {
+            Head head = queue.poll();
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                merged.add(head.customer());
+            }
+            if (head.rest().hasNext()) {
+                queue.add(new Head(head.rest().next(), head.rest()));
+            }
+        }
+        return merged;
+    }
+
+    private static Comparator<CustomerDTO> comparator(Sort sort) {
+        Comparator<CustomerDTO> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<CustomerDTO> next = sortable.get(order.getProperty());
+            next = order.isAscending() ? next : next.reversed();
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator;
+    }
+
+    private static String column(String property) {
+        if (!sortable.containsKey(property)) {
+            throw new Common400Exception(CustomerConstant.invalidSortMessage);
+        }
+        return property;
+    }
+
+    // 조회는 전체 컬럼으로 하고 (정렬 비교에 필요) 고르지 않은 필드는 응답에서 뺀다.
+    private static List<CustomerDTO> project(List<CustomerDTO> customers, Set<CustomerField> fields) {
+        if (fields.containsAll(CustomerField.all())) {
+            return customers;
+        }
+        boolean name = fields.contains(CustomerField.NAME);
+        boolean tel = fields.contains(CustomerField.TEL);
+        return customers.stream()
+                .map(customer -> new CustomerDTO(customer.id(), name ? customer.name() : null, tel ? customer.tel() : null))
+                .toList();
+    }
+
+    private void checkDuplicateTel(String tel, Long excludeId) {
+        boolean exists = scatter(shards, shard -> shard.jdbcTemplate().queryForObject(
+                "select count(*) from customer where tel = ? and id <> ?", Long.class, tel, excludeId == null ? 0L : excludeId))
+                .stream().anyMatch(count -> count > 0);
+        if (exists) {
+            throw new Common409Exception(CustomerConstant.duplicateTelMessage);
+        }
+    }
+
+    private static void checkVersionConflict(Shard shard, Long id, Long version) {
+        if (version != null && shard.jdbcTemplate().queryForObject(
+                "select count(*) from customer where id = ?", Long.class, id) > 0) {
+            throw new Common412Exception(CustomerConstant.versionMismatchMessage);
+        }
+    }
+
+    // 확인과 저장 사이에 같은 번호가 같은 샤드에 먼저 저장된 경우
+    private static <T> T uniqueTel(Supplier<T> action) {
+        try {
+            return action.get();
+        } catch (DataIntegrityViolationException e) {
+            throw new Common409Exception(CustomerConstant.duplicateTelMessage);
+        }
+    }
+
+    private Shard shard(long id) {
+        return shards.get(shardOf(id));
+    }
+
+    // 샤드마다 동시에 실행하고, 결과는 targets 순서로 돌려준다. 첫 샤드는 호출한 스레드에서 실행한다.
+    private <T> List<T> scatter(Collection<Shard> targets, Function<Shard, T> action) {
+        if (targets.isEmpty()) {
+            return List.of();
+        }
+        Iterator<Shard> iterator = targets.iterator();
+        Shard first = iterator.next();
+        List<CompletableFuture<T>> futures = new ArrayList<>(targets.size() - 1);
+        while (iterator.hasNext()) {
+            Shard shard = iterator.next();
+            futures.add(CompletableFuture.supplyAsync(() -> action.apply(shard), executor));
+        }
+        T firstResult = action.apply(first);
+        if (futures.isEmpty()) {
+            return List.of(firstResult);
+        }
+        try {
+            List<T> results = new ArrayList<>(targets.size());
+            results.add(firstResult);
+            futures.forEach(future -> results.add(future.join()));
+            return results;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Shard shard(int index, CustomerProperties.Shard properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(properties.url())
+                .username(properties.username())
+                .password(properties.password())
+                .build();
+        dataSource.setPoolName("shard-" + index);
+        // 빈이 아닌 풀은 자동 설정이 찾지 못하므로 hikaricp 메트릭을 직접 연결한다.
+        meterRegistry.ifAvailable(dataSource::setMetricRegistry);
+        new ResourceDatabasePopulator(new ClassPathResource("static/data/shard-schema.sql")).execute(dataSource);
+        return new Shard(dataSource, new JdbcTemplate(dataSource), new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+    }
+
+    private static CustomizableThreadFactory daemonThreads() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("customer-shard-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.sample.customer;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record CustomerSlice(
+        @Schema(description = "고객 정보")
+        List<CustomerDTO> content,
+
+        @Schema(description = "페이지 번호")
+        int number,
+
+        @Schema(description = "페이지 크기")
+        int size,
+
+        @Schema(description = "다음 페이지 존재 여부")
+        boolean hasNext,
+
+        @Schema(description = "근사 전체 고객 수, total=true 일 때만 포함")
+        Long approximateTotal
+) {
+}
@@ -0,0 +1,201 @@
+package com.example.sample.customer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+// 등록된 휴대폰 번호의 Bloom filter, 저장 전 중복 확인 select 를 건너뛰기 위한 용도
+// - mightContain == false 이면 확실히 없는 번호라 조회하지 않는다.
+// - true 이면 DB 로 확인한다. (오탐률 falsePositiveRate)
+// Bloom filter 는 삭제가 안 되므로 삭제 / 번호 변경으로 낡은 항목이 쌓이면 백그라운드에서 다시 만든다.
+@Component
+public class CustomerTelFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerTelFilter.class);
+
+    // 낡은 항목이 전체의 20% 를 넘으면 다시 만든다.
+    private static final double maxStaleRatio = 0.2;
+
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final double falsePositiveRate;
+
+    private volatile int expectedInsertions;
+    private volatile Bits bits;
+    // 다시 만드는 중이면 새 필터에도 같이 넣는다.
+    private volatile Bits building;
+    private volatile boolean ready;
+
+    private final AtomicLong size = new AtomicLong();
+    private final AtomicLong stale = new AtomicLong();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public CustomerTelFilter(
+            CustomerRepository customerRepository,
+            PlatformTransactionManager transactionManager,
+            CustomerProperties properties
+    ) {
+        this.customerRepository = customerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.expectedInsertions = properties.telFilter().expectedInsertions();
+        this.falsePositiveRate = properties.telFilter().falsePositiveRate();
+        this.bits = new Bits(expectedInsertions, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuilding.set(true);
+        try {
+            rebuild();
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    // 초기 적재 전에는 판단할 수 없으므로 항상 DB 로 확인하게 한다.
+    public boolean mightContain(String tel) {
+        return !ready || bits.mightContain(tel);
+    }
+
+    public void add(String tel) {
+        bits.add(tel);
+        Bits next = building;
+        if (next != null) {
+            next.add(tel);
+        }
+        if (size.incrementAndGet() > expectedInsertions) {
+            rebuildAsync();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onCustomerEvent(CustomerEvent event) {
+        switch (event.type()) {
+            case INSERTED -> add(event.customer().tel());
+            case UPDATED -> {
+                // 이전 번호는 알 수 없어서 낡은 항목 하나로 센다.
+                add(event.customer().tel());
+                markStale();
+            }
+            case DELETED -> markStale();
+        }
+    }
+
+    private void markStale() {
+        if (stale.incrementAndGet() > Math.max(1000, size.get() * maxStaleRatio)) {
+            rebuildAsync();
+        }
+    }
+
+    private void rebuildAsync() {
+        if (rebuilding.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.warn("customer tel filter rebuild failed", e);
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        }
+    }
+
+    // 스트림을 열기 전에 building 을 걸어야 그 사이 커밋된 번호가 빠지지 않는다.
+    private void rebuild() {
+        if (size.get() > expectedInsertions) {
+            expectedInsertions = (int) Math.min(Integer.MAX_VALUE, size.get() * 2);
+        }
+        Bits next = new Bits(expectedInsertions, falsePositiveRate);
+        building = next;
+        AtomicLong count = new AtomicLong();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<String> stream = customerRepository.streamAllTel()) {
+                stream.forEach(tel -> {
+                    next.add(tel);
+                    count.incrementAndGet();
+                });
+            }
+        });
+        bits = next;
+        building = null;
+        size.set(count.get());
+        stale.set(0);
+        ready = true;
+        log.info("customer tel filter built ({} tels, {} bits)", count, next.bitSize);
+    }
+
+    // 비트 배열 + double hashing (h1 + i * h2)
+    private static class Bits {
+
+        private final AtomicLongArray words;
+        private final long bitSize;
+        private final int hashCount;
+
+        Bits(int expectedInsertions, double falsePositiveRate) {
+            long n = Math.max(1, expectedInsertions);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) ((m + 63) / 64));
+            this.bitSize = words.length() * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+        }
+
+        void add(String tel) {
+            long hash = hash(tel);
+            long h1 = hash;
+            long h2 = mix(hash);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitSize);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = words.get(word);
+                } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String tel) {
+            long hash = hash(tel);
+            long h1 = hash;
+            long h2 = mix(hash);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitSize);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // FNV-1a 64
+        private static long hash(String tel) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : tel.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b;
+                hash *= 0x100000001b3L;
+            }
+            return mix(hash);
+        }
+
+        // SplitMix64 finalizer
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
@@ -1,8 +1,12 @@
 insert into customer (
-    name, tel
-) values ('박진희', '01040234504');
+    id, name, tel, version
+) values (1, '박진희', '01040234504', 0);
 
 
 insert into customer (
-    name, tel
-) values ('유광열', '01099241840');
\ No newline at end of file
+    id, name, tel, version
+) values (2, '유광열', '01099241840', 0);
+
+-- id 를 직접 넣은 기존 데이터 이후부터 sequence 가 할당되도록 맞춘다.
+-- 위 insert 가 바뀌어도 맞도록 숫자로 쓰지 않고 max(id) 에서 구한다.
+alter sequence customer_seq restart with (select coalesce(max(id), 0) + 1 from customer);
\ No newline at end of file
@@ -0,0 +1,8 @@
+-- customer.sharding 의 각 샤드에 만드는 테이블 (CustomerEntity 와 같은 구조, id 는 애플리케이션에서 생성한다)
+create table if not exists customer (
+    id bigint not null primary key,
+    name varchar(100) not null,
+    tel varchar(20) not null,
+    version bigint not null,
+    constraint uk_customer_tel unique (tel)
+);
@@ -0,0 +1,102 @@
+package com.example.sample;
+
+import com.example.sample.common.limit.AdaptiveConcurrencyLimiter;
+import com.example.sample.common.limit.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final Duration threshold = Duration.ofMillis(20);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            "test",
+            new ConcurrencyLimitProperties.Limit(10, 2, 12, threshold, 0.5),
+            meterRegistry
+    );
+
+    @Test
+    @DisplayName("한도가 차면 기다리지 않고 거절하고, 거절 수를 남긴다")
+    void reject() {
+        List<Optional<AdaptiveConcurrencyLimiter.Permit>> permits = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            permits.add(limiter.tryAcquire());
+        }
+        assertTrue(permits.stream().allMatch(Optional::isPresent));
+        assertTrue(limiter.tryAcquire().isEmpty());
+        assertEquals(10, limiter.getInFlight());
+        assertEquals(10.0, meterRegistry.get("http.server.concurrency.in_flight").gauge().value());
+        assertEquals(1.0, meterRegistry.get("http.server.concurrency.rejected").counter().count());
+
+        var permit = permits.remove(0).orElseThrow();
+        permit.release();
+        assertTrue(limiter.tryAcquire().isPresent());
+
+        // 같은 Permit 을 다시 release 해도 자리가 더 생기지 않는다.
+        permit.release();
+        assertEquals(10, limiter.getInFlight());
+        assertTrue(limiter.tryAcquire().isEmpty());
+    }
+
+    @Test
+    @DisplayName("느린 요청이 끝나면 줄이고, 줄이기 전에 시작한 요청으로는 다시 줄이지 않는다")
+    void backoff() {
+        var first = limiter.tryAcquire().orElseThrow();
+        var second = limiter.tryAcquire().orElseThrow();
+        sleep();
+
+        first.release();
+        assertEquals(5, limiter.getLimit());
+        // 같은 시기에 밀려 있던 요청
+        second.release();
+        assertEquals(5, limiter.getLimit());
+
+        // 줄인 뒤에 시작한 요청이 또 느리면 다시 줄이고, minLimit 아래로는 내려가지 않는다.
+        for (int i = 0; i < 3; i++) {
+            var permit = limiter.tryAcquire().orElseThrow();
+            sleep();
+            permit.release();
+        }
+        assertEquals(2, limiter.getLimit());
+        assertEquals(2.0, meterRegistry.get("http.server.concurrency.limit").gauge().value());
+    }
+
+    @Test
+    @DisplayName("한도의 절반 이상을 쓰면서 빠르게 끝나면 조금씩 늘리고, maxLimit 를 넘지 않는다")
+    void increase() {
+        // 한가할 때는 늘리지 않는다.
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire().orElseThrow().release();
+        }
+        assertEquals(10, limiter.getLimit());
+
+        List<AdaptiveConcurrencyLimiter.Permit> busy = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            while (limiter.getInFlight() < limiter.getLimit()) {
+                busy.add(limiter.tryAcquire().orElseThrow());
+            }
+            busy.remove(0).release();
+        }
+        assertEquals(12, limiter.getLimit());
+    }
+
+    // latencyThreshold 보다 느린 요청
+    private static void sleep() {
+        try {
+            Thread.sleep(threshold.toMillis() + 5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
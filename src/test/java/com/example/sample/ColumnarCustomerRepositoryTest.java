@@ -0,0 +1,198 @@
+package com.example.sample;
+
+import com.example.sample.customer.ColumnarCustomerRepository;
+import com.example.sample.customer.CustomerDTO;
+import com.example.sample.customer.CustomerEntity;
+import com.example.sample.customer.CustomerField;
+import com.example.sample.customer.CustomerProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 시드 데이터는 @DataJpaTest 의 DB 에서 읽고, 테스트마다 새 저장소를 만든다.
+public class ColumnarCustomerRepositoryTest extends CustomerRepositoryContractTest {
+
+    private final DataSource dataSource;
+
+    public ColumnarCustomerRepositoryTest(@Autowired DataSource dataSource) {
+        super(columnar(dataSource, newSnapshotPath()));
+        this.dataSource = dataSource;
+    }
+
+    @Test
+    @DisplayName("id 외의 정렬도 Pageable 의 순서 / offset 을 따른다")
+    void sort() {
+        repository.saveAll(List.of(
+                new CustomerEntity(null, "가", "01077770003"),
+                new CustomerEntity(null, "나", "01077770001"),
+                new CustomerEntity(null, "다", "01077770002")
+        ));
+
+        var sort = Sort.by(Sort.Direction.DESC, "tel");
+        List<CustomerDTO> paged = new ArrayList<>();
+        for (int page = 0; page < repository.count(); page++) {
+            paged.addAll(repository.findAllDTO(CustomerField.all(), PageRequest.of(page, 1, sort)).getContent());
+        }
+        var expected = repository.streamAllDTO().sorted(Comparator.comparing(CustomerDTO::tel).reversed()).toList();
+        assertEquals(expected, paged);
+
+        var byName = repository.findAll(PageRequest.of(1, 2, Sort.by("name")));
+        assertEquals(repository.count(), byName.getTotalElements());
+        assertEquals("다", byName.getContent().get(0).getName());
+    }
+
+    @Test
+    @DisplayName("번호가 겹치면 saveAll 은 아무것도 저장하지 않고, 오래된 version 으로는 수정할 수 없다")
+    void conflict() {
+        long count = repository.count();
+        assertThrows(DataIntegrityViolationException.class, () -> repository.saveAll(List.of(
+                new CustomerEntity(null, "김철수", "01077771001"),
+                new CustomerEntity(null, "이영희", "01040234504")
+        )));
+        assertEquals(count, repository.count());
+        assertTrue(repository.findByTel("01077771001").isEmpty());
+
+        var saved = repository.save(new CustomerEntity(null, "김철수", "01077771001"));
+        var stale = saved.copy();
+        saved.setName("김영수");
+        repository.save(saved);
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> repository.save(stale));
+    }
+
+    @Test
+    @DisplayName("많이 지우거나 고쳐서 압축해도 번호 색인과 순서가 유지된다")
+    void compact() {
+        List<CustomerEntity> customers = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            customers.add(new CustomerEntity(null, "고객" + i, String.format("0107777%04d", i)));
+        }
+        repository.saveAll(customers);
+        for (int i = 0; i < 3000; i++) {
+            if (i % 10 != 0) {
+                repository.deleteById(customers.get(i).getId());
+            } else {
+                repository.updateCustomer(customers.get(i).getId(), "이름" + i, String.format("0108777%04d", i));
+            }
+        }
+
+        assertTrue(repository.findByTel("01077770010").isEmpty());
+        assertEquals("이름10", repository.findByTel("01087770010").get(0).name());
+        assertEquals(300, repository.findByTelStartingWithOrderByTelAscIdAsc("0108777", PageRequest.ofSize(1000)).size());
+        var ids = repository.streamAllDTO().map(CustomerDTO::id).toList();
+        assertEquals(repository.count(), ids.size());
+        assertEquals(ids.stream().sorted().toList(), ids);
+    }
+
+    @Test
+    @DisplayName("저장하다 압축되어도 저장한 고객을 돌려주고, deleteAll 은 모든 행을 지운다")
+    void compactWhileWriting() {
+        List<CustomerEntity> customers = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            customers.add(new CustomerEntity(null, "고객" + i, String.format("0107777%04d", i)));
+        }
+        repository.saveAll(customers);
+        // 지운 행은 압축 기준(절반) 아래로 두고, 이름을 바꾸다가 arena 의 버려진 바이트로 압축되게 한다.
+        for (int i = 0; i < 1400; i++) {
+            repository.deleteById(customers.get(i).getId());
+        }
+        for (int i = 1400; i < 3000; i++) {
+            var customer = repository.findById(customers.get(i).getId()).orElseThrow();
+            customer.setName("이름" + i);
+            var saved = repository.save(customer);
+            assertEquals(customers.get(i).getId(), saved.getId());
+            assertEquals("이름" + i, saved.getName());
+        }
+
+        repository.deleteAll();
+        assertEquals(0, repository.count());
+        assertEquals(0, repository.streamAllDTO().count());
+        assertTrue(repository.findByTel("01077772999").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Example 조회는 matcher 의 문자열 / 대소문자 / any 조건을 따른다")
+    void example() {
+        repository.saveAll(List.of(
+                new CustomerEntity(null, "Kim", "01077773001"),
+                new CustomerEntity(null, "kimchi", "01077773002"),
+                new CustomerEntity(null, "Lee", "01077773003")
+        ));
+
+        var exact = Example.of(new CustomerEntity(null, "Kim", null, null));
+        assertEquals("01077773001", repository.findOne(exact).orElseThrow().getTel());
+
+        var startsWith = Example.of(new CustomerEntity(null, "kim", null, null),
+                ExampleMatcher.matching().withMatcher("name", matcher -> matcher.startsWith().ignoreCase()));
+        assertEquals(2, repository.count(startsWith));
+        assertEquals("kimchi", repository.findAll(startsWith, Sort.by(Sort.Direction.DESC, "tel")).get(0).getName());
+        assertThrows(IncorrectResultSizeDataAccessException.class, () -> repository.findOne(startsWith));
+
+        var any = Example.of(new CustomerEntity(null, "Lee", "01077773001", null), ExampleMatcher.matchingAny());
+        var page = repository.findAll(any, PageRequest.of(0, 1, Sort.by("tel")));
+        assertEquals(2, page.getTotalElements());
+        assertEquals("Kim", page.getContent().get(0).getName());
+
+        var tels = repository.findBy(startsWith, query -> query.as(CustomerDTO.class).sortBy(Sort.by("tel")).all());
+        assertEquals(List.of("01077773001", "01077773002"), tels.stream().map(CustomerDTO::tel).toList());
+        assertTrue(repository.exists(Example.of(new CustomerEntity(1L, null, null, null))));
+    }
+
+    @Test
+    @DisplayName("변경을 남길 스냅샷 경로 없이는 시작하지 않는다")
+    void snapshotPathRequired() {
+        assertThrows(IllegalStateException.class, () -> columnar(dataSource, ""));
+    }
+
+    @Test
+    @DisplayName("스냅샷이 있으면 DB 대신 스냅샷에서 읽는다")
+    void snapshot(@TempDir Path directory) throws IOException {
+        var saved = repository.save(new CustomerEntity(null, "김철수", "01077772001"));
+        repository.deleteById(1L);
+        var snapshot = directory.resolve("customer.snapshot");
+        ((ColumnarCustomerRepository) repository).snapshot(snapshot);
+
+        var loaded = columnar(dataSource, snapshot.toString());
+        assertEquals(repository.count(), loaded.count());
+        assertTrue(loaded.findById(1L).isEmpty());
+        assertEquals(saved.getVersion(), loaded.findVersionById(saved.getId()).orElseThrow());
+        assertTrue(loaded.existsByTel("01077772001"));
+        assertTrue(loaded.save(new CustomerEntity(null, "이영희", "01077772002")).getId() > saved.getId());
+    }
+
+    // 스냅샷 경로는 필수라서, 아직 파일이 없는 (= DB 에서 읽는) 경로를 테스트마다 만든다.
+    private static String newSnapshotPath() {
+        try {
+            Path directory = Files.createTempDirectory("customer-columnar");
+            directory.toFile().deleteOnExit();
+            return directory.resolve("customer.snapshot").toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ColumnarCustomerRepository columnar(DataSource dataSource, String snapshotPath) {
+        return new ColumnarCustomerRepository(new CustomerProperties.Columnar(true, snapshotPath, Duration.ZERO), dataSource);
+    }
+}
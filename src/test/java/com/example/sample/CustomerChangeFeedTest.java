@@ -0,0 +1,30 @@
+package com.example.sample;
+
+import com.example.sample.common.exception.Common503Exception;
+import com.example.sample.customer.CustomerChangeFeed;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "customer.change-feed.max-subscribers=2")
+public class CustomerChangeFeedTest {
+
+    @Autowired
+    private CustomerChangeFeed customerChangeFeed;
+
+    @Test
+    @DisplayName("구독자가 max-subscribers 를 넘으면 503")
+    void maxSubscribers() {
+        assertNotNull(customerChangeFeed.subscribe(null));
+        assertNotNull(customerChangeFeed.subscribe(null));
+
+        Common503Exception e = assertThrows(Common503Exception.class, () -> customerChangeFeed.subscribe(null));
+        assertNotNull(e.getRetryAfter());
+        assertEquals(2, customerChangeFeed.subscribers());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.sample;
+
+import com.example.sample.customer.CustomerInsertRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 압축은 내장 톰캣에서 하므로 MockMvc 가 아닌 실제 포트로 확인한다.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CustomerContentNegotiationTest {
+
+    private static final String cbor = "application/cbor";
+    private static final String smile = "application/x-jackson-smile";
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper cborMapper = new CBORMapper();
+    private final ObjectMapper smileMapper = new SmileMapper();
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("Accept 에 따라 JSON(기본) / CBOR / Smile 로 응답")
+    void accept() throws Exception {
+        HttpResponse<byte[]> json = send(get("/customer/1").build());
+        assertTrue(json.headers().firstValue("Content-Type").orElseThrow().startsWith("application/json"));
+        assertEquals("01040234504", jsonMapper.readTree(json.body()).get("tel").asText());
+
+        HttpResponse<byte[]> binary = send(get("/customer?size=10").header("Accept", cbor).build());
+        assertTrue(binary.headers().firstValue("Content-Type").orElseThrow().startsWith(cbor));
+        assertEquals(1, cborMapper.readTree(binary.body()).get("content").get(0).get("id").asLong());
+    }
+
+    @Test
+    @DisplayName("Smile 요청 본문으로 저장")
+    void smileRequest() throws Exception {
+        byte[] body = smileMapper.writeValueAsBytes(new CustomerInsertRequest("스마일", "01013130001"));
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(uri("/customer"))
+                .header("Content-Type", smile)
+                .header("Accept", smile)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("01013130001", smileMapper.readTree(response.body()).get("tel").asText());
+    }
+
+    @Test
+    @DisplayName("min-response-size 이상이면 gzip 으로 압축")
+    void gzip() throws Exception {
+        List<CustomerInsertRequest> requests = IntStream.range(0, 100)
+                .mapToObj(i -> new CustomerInsertRequest("압축", "0101414%04d".formatted(i)))
+                .toList();
+        HttpResponse<byte[]> saved = send(HttpRequest.newBuilder(uri("/customer/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(jsonMapper.writeValueAsBytes(requests)))
+                .build());
+        assertEquals(200, saved.statusCode());
+
+        HttpResponse<byte[]> large = send(get("/customer?size=100").header("Accept-Encoding", "gzip").build());
+        assertEquals("gzip", large.headers().firstValue("Content-Encoding").orElse(null));
+        JsonNode page = jsonMapper.readTree(gunzip(large.body()));
+        assertEquals(100, page.get("content").size());
+
+        HttpResponse<byte[]> small = send(get("/customer/1").header("Accept-Encoding", "gzip").build());
+        assertFalse(small.headers().firstValue("Content-Encoding").isPresent());
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return inputStream.readAllBytes();
+        }
+    }
+}
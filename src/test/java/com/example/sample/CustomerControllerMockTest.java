@@ -1,5 +1,7 @@
 package com.example.sample;
 
+import com.example.sample.common.exception.Common409Exception;
+import com.example.sample.common.exception.Common412Exception;
 import com.example.sample.customer.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -9,6 +11,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -16,10 +19,14 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -32,6 +39,12 @@ class CustomerControllerMockTest {
     @MockBean
     private CustomerService customerService;
 
+    @MockBean
+    private CustomerImportService customerImportService;
+
+    @MockBean
+    private CustomerChangeFeed customerChangeFeed;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Test
@@ -41,7 +54,7 @@ class CustomerControllerMockTest {
         CustomerEntity customer = CustomerExample.customer;
 
         given(customerService.getCustomers(
-            Pageable.ofSize(10)
+            Pageable.ofSize(10), CustomerField.all()
         )).willReturn(
             new PageImpl<>(List.of(customer.toDTO()))
         );
@@ -55,6 +68,121 @@ class CustomerControllerMockTest {
                 .andDo(print());
     }
 
+    @Test
+    @DisplayName("고객 여러 명 조회")
+    public void getByIds() throws Exception {
+
+        CustomerEntity customer = CustomerExample.customer;
+
+        given(customerService.getCustomersByIds(List.of(1L, 2L)))
+                .willReturn(new CustomerMultiGetResult(List.of(customer.toDTO()), List.of(2L)));
+
+        this.mockMvc.perform(get("/customer")
+                        .param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value(customer.getName()))
+                .andExpect(jsonPath("$.missing[0]").value(2))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("고객 리스트 조회 (count 없음)")
+    public void getSlice() throws Exception {
+
+        CustomerEntity customer = CustomerExample.customer;
+
+        given(customerService.getCustomerSlice(
+            Pageable.ofSize(10), CustomerField.all(), true
+        )).willReturn(
+            new CustomerSlice(List.of(customer.toDTO()), 0, 10, false, 1L)
+        );
+
+        this.mockMvc.perform(get("/customer/slice")
+                        .param("size", "10")
+                        .param("total", "true")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value(customer.getName()))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.approximateTotal").value(1))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("고객 리스트 커서 조회")
+    public void getCursorList() throws Exception {
+
+        CustomerEntity customer = CustomerExample.customer;
+        String next = CustomerCursor.encode(customer.getId());
+
+        given(customerService.getCustomerCursorPage(null, null, 1)).willReturn(
+            new CustomerCursorPage(List.of(customer.toDTO()), 1, next, null)
+        );
+
+        this.mockMvc.perform(get("/customer/cursor")
+                        .param("size", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value(customer.getName()))
+                .andExpect(jsonPath("$.next").value(next))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("고객 전체 내보내기 실패 - 지원하지 않는 형식")
+    public void exportInvalidFormat() throws Exception {
+        this.mockMvc.perform(get("/customer/export")
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value(CustomerConstant.invalidFormatMessage))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("고객 검색 - 휴대폰 번호 앞부분")
+    public void searchByTel() throws Exception {
+        CustomerEntity customer = CustomerExample.customer;
+        given(customerService.searchByTel("0104023", false, 20)).willReturn(List.of(customer.toDTO()));
+
+        this.mockMvc.perform(get("/customer/search")
+                        .param("tel", "0104023"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].tel").value(customer.getTel()))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("고객 검색 - 이름 초성")
+    public void searchByName() throws Exception {
+        CustomerEntity customer = CustomerExample.customer;
+        given(customerService.searchByName("ㅂㅈㅎ", 20)).willReturn(List.of(customer.toDTO()));
+
+        this.mockMvc.perform(get("/customer/search")
+                        .param("name", "ㅂㅈㅎ"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value(customer.getName()))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("고객 검색 실패 - 검색어 없음")
+    public void searchEmpty() throws Exception {
+        this.mockMvc.perform(get("/customer/search"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value(CustomerConstant.emptySearchMessage))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("고객 검색 실패 - 휴대폰 번호 형식")
+    public void searchByTelInvalid() throws Exception {
+        this.mockMvc.perform(get("/customer/search")
+                        .param("tel", "010-4023"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value(CustomerConstant.invalidTelMessage))
+                .andDo(print());
+    }
+
     @Test
     @DisplayName("고객 정보 조회 실패")
     public void getNoCustomer() throws Exception {
@@ -82,9 +210,26 @@ class CustomerControllerMockTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name").value(customer.getName()))
                 .andExpect(jsonPath("$.tel").value(customer.getTel()))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
                 .andDo(print());
     }
 
+    @Test
+    @DisplayName("고객 정보 조회 - 변경 없음 (If-None-Match)")
+    public void getCustomerNotModified() throws Exception {
+        given(customerService.getCustomerVersion(1L)).willReturn(Optional.of(0L));
+
+        this.mockMvc.perform(
+                        get("/customer/{id}", 1L)
+                                .header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(content().string(""))
+                .andDo(print());
+
+        verify(customerService, never()).getCustomer(1L);
+    }
+
     @Test
     @DisplayName("고객 정보 수정 실패 - 이름 미입력 (Validation)")
     public void putValid() throws Exception {
@@ -106,7 +251,7 @@ class CustomerControllerMockTest {
 
         CustomerUpdateRequest request = new CustomerUpdateRequest("박진희", "01012345678");
 
-        given(customerService.getCustomer(1000L)).willReturn(Optional.empty());
+        given(customerService.update(1000L, request, null)).willReturn(Optional.empty());
         this.mockMvc.perform(
                         put("/customer/{id}", 1000L)
                                 .content(objectMapper.writeValueAsBytes(request))
@@ -122,8 +267,7 @@ class CustomerControllerMockTest {
     public void putSuccess() throws Exception {
         CustomerUpdateRequest request = new CustomerUpdateRequest("박진희", "01012345678");
         CustomerEntity customer = CustomerExample.customer;
-        given(customerService.getCustomer(customer.getId())).willReturn(Optional.of(customer));
-        given(customerService.update(request, customer)).willReturn(customer);
+        given(customerService.update(customer.getId(), request, null)).willReturn(Optional.of(customer));
 
         this.mockMvc.perform(
                         put("/customer/{id}", customer.getId())
@@ -136,6 +280,55 @@ class CustomerControllerMockTest {
     }
 
 
+    @Test
+    @DisplayName("고객 정보 저장 실패 - 중복 휴대폰 번호")
+    public void postDuplicateTel() throws Exception {
+        CustomerInsertRequest request = new CustomerInsertRequest("박진희", "01012345678");
+        given(customerService.save(request))
+                .willThrow(new Common409Exception(CustomerConstant.duplicateTelMessage));
+
+        this.mockMvc.perform(
+                        post("/customer")
+                                .content(objectMapper.writeValueAsBytes(request))
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.detail").value(CustomerConstant.duplicateTelMessage))
+                .andExpect(jsonPath("$.status").value(409))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("고객 정보 수정 실패 - 버전 불일치 (If-Match)")
+    public void putVersionConflict() throws Exception {
+        CustomerUpdateRequest request = new CustomerUpdateRequest("박진희", "01012345678");
+        given(customerService.update(1L, request, 3L))
+                .willThrow(new Common412Exception(CustomerConstant.versionMismatchMessage));
+
+        this.mockMvc.perform(
+                        put("/customer/{id}", 1L)
+                                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                                .content(objectMapper.writeValueAsBytes(request))
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.detail").value(CustomerConstant.versionMismatchMessage))
+                .andExpect(jsonPath("$.status").value(412))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("고객 정보 수정 실패 - weak ETag (If-Match)")
+    public void putWeakETag() throws Exception {
+        CustomerUpdateRequest request = new CustomerUpdateRequest("박진희", "01012345678");
+
+        this.mockMvc.perform(
+                        put("/customer/{id}", 1L)
+                                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                                .content(objectMapper.writeValueAsBytes(request))
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isPreconditionFailed())
+                .andDo(print());
+    }
+
     @Test
     @DisplayName("고객 정보 저장 실패 - 이름 미입력 (Validation)")
     public void postValid() throws Exception {
@@ -171,6 +364,56 @@ class CustomerControllerMockTest {
     }
 
 
+    @Test
+    @DisplayName("고객 일괄 저장")
+    public void postBatchSuccess() throws Exception {
+        List<CustomerInsertRequest> requests = List.of(
+                new CustomerInsertRequest("박진희", "01022223333"),
+                new CustomerInsertRequest("유광열", "01022224444")
+        );
+        given(customerService.saveAll(requests)).willReturn(requests.stream()
+                .map(request -> new CustomerEntity(null, request.name(), request.tel()))
+                .toList());
+
+        this.mockMvc.perform(
+                        post("/customer/batch")
+                                .content(objectMapper.writeValueAsBytes(requests))
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].name").value("유광열"))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("고객 일괄 저장 실패 - 휴대폰 번호 형식 (Validation)")
+    public void postBatchValid() throws Exception {
+        List<CustomerInsertRequest> requests = List.of(
+                new CustomerInsertRequest("박진희", "01022223333"),
+                new CustomerInsertRequest("유광열", "0102222444a")
+        );
+
+        this.mockMvc.perform(
+                        post("/customer/batch")
+                                .content(objectMapper.writeValueAsBytes(requests))
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("2번째 고객: 휴대폰번호는 숫자로만 입력해주세요."))
+                .andExpect(jsonPath("$.status").value(400))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("고객 대량 등록 실패 - 지원하지 않는 형식")
+    public void importInvalidFormat() throws Exception {
+        this.mockMvc.perform(
+                        post("/customer/import")
+                                .param("format", "xlsx")
+                                .content("name,tel"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value(CustomerConstant.invalidFormatMessage))
+                .andDo(print());
+    }
+
     @Test
     @DisplayName("고객 정보 삭제 실패 - 고객 정보 찾을수 없음")
     public void deleteNoCustomer() throws Exception {
@@ -188,7 +431,7 @@ class CustomerControllerMockTest {
     @DisplayName("고객 정보 삭제")
     public void deleteSuccess() throws Exception {
         CustomerEntity customer = CustomerExample.customer;
-        given(customerService.getCustomer(customer.getId())).willReturn(Optional.of(customer));
+        given(customerService.deleteCustomer(customer.getId(), null)).willReturn(true);
 
         this.mockMvc.perform(
                         delete("/customer/{id}", customer.getId())
@@ -3,5 +3,5 @@ package com.example.sample;
 import com.example.sample.customer.CustomerEntity ;
 
 public interface CustomerExample {
-    CustomerEntity  customer = new CustomerEntity (1L, "박진희", "01040234504");
+    CustomerEntity  customer = new CustomerEntity (1L, "박진희", "01040234504", 0L);
 }
@@ -0,0 +1,87 @@
+package com.example.sample;
+
+import com.example.sample.common.exception.Common409Exception;
+import com.example.sample.customer.CustomerEntity;
+import com.example.sample.customer.CustomerInsertRequest;
+import com.example.sample.customer.CustomerService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "customer.group-commit.enabled=true",
+        "customer.group-commit.max-delay=200ms"
+})
+public class CustomerGroupCommitTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("동시 저장을 모아서 커밋하고 각자 생성된 id 를 받는다")
+    void coalesce() {
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        try {
+            List<CompletableFuture<CustomerEntity>> futures = IntStream.range(0, 10)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(
+                            () -> customerService.save(new CustomerInsertRequest("그룹", "0551000%04d".formatted(i))), executor))
+                    .toList();
+            List<CustomerEntity> customers = futures.stream().map(CompletableFuture::join).toList();
+
+            assertEquals(10, customers.stream().map(CustomerEntity::getId).distinct().count());
+            IntStream.range(0, 10).forEach(i -> assertEquals("0551000%04d".formatted(i), customers.get(i).getTel()));
+            customers.forEach(customer -> assertTrue(customerService.getCustomer(customer.getId()).isPresent()));
+        } finally {
+            executor.shutdown();
+        }
+
+        DistributionSummary batchSize = meterRegistry.find("customer.group_commit.batch_size").summary();
+        assertNotNull(batchSize);
+        assertTrue(batchSize.max() > 1);
+        assertNotNull(meterRegistry.find("customer.group_commit.queue_depth").gauge());
+    }
+
+    @Test
+    @DisplayName("같은 배치 안의 중복 번호는 해당 요청만 실패한다")
+    void duplicateInBatch() {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<CompletableFuture<CustomerEntity>> futures = List.of("05520000001", "05520000001", "05520000002").stream()
+                    .map(tel -> CompletableFuture.supplyAsync(
+                            () -> customerService.save(new CustomerInsertRequest("중복", tel)), executor))
+                    .toList();
+
+            long failed = futures.stream()
+                    .filter(future -> {
+                        try {
+                            future.join();
+                            return false;
+                        } catch (RuntimeException e) {
+                            assertInstanceOf(Common409Exception.class, e.getCause());
+                            return true;
+                        }
+                    })
+                    .count();
+            assertEquals(1, failed);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
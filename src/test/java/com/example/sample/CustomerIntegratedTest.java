@@ -1,13 +1,22 @@
 package com.example.sample;
 
+import com.example.sample.common.limit.AdaptiveConcurrencyLimiter;
+import com.example.sample.common.limit.ConcurrencyLimitInterceptor;
+import com.example.sample.customer.CustomerConstant;
 import com.example.sample.customer.CustomerInsertRequest;
 import com.example.sample.customer.CustomerUpdateRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.restdocs.RestDocumentationContextProvider;
 import org.springframework.restdocs.RestDocumentationExtension;
@@ -15,18 +24,37 @@ import org.springframework.restdocs.payload.FieldDescriptor;
 import org.springframework.restdocs.payload.JsonFieldType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 import org.springframework.web.filter.CharacterEncodingFilter;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.documentationConfiguration;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.*;
+import static org.springframework.restdocs.headers.HeaderDocumentation.*;
 import static org.springframework.restdocs.payload.PayloadDocumentation.*;
 import static org.springframework.restdocs.request.RequestDocumentation.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -36,6 +64,15 @@ public class CustomerIntegratedTest {
     private MockMvc mockMvc;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
     @BeforeEach
     void setUp (
             WebApplicationContext webApplicationContext,
@@ -74,6 +111,301 @@ public class CustomerIntegratedTest {
                 );
     }
 
+    @Test
+    @DisplayName("고객 리스트 조회 - 필드 선택")
+    public void getListFields() throws Exception {
+        mockMvc .perform( get("/customer").queryParam("size", "10").queryParam("page", "0").queryParam("sort", "id,asc").queryParam("fields", "name")
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].name").exists())
+                .andExpect(jsonPath("$.content[0].tel").doesNotExist())
+                .andDo(
+                        document("customer-list-fields",
+                                queryParameters(
+                                        parameterWithName("size").description("페이지 크기"),
+                                        parameterWithName("page").description("페이지 번호"),
+                                        parameterWithName("sort").description("정렬 기준"),
+                                        parameterWithName("fields").description("응답에 포함할 필드 (name, tel), id 는 항상 포함")
+                                ),
+                                responseFields (
+                                        fieldWithPath("content").type(JsonFieldType.ARRAY).description("고객 정보"),
+                                        fieldWithPath("content[].id").type(JsonFieldType.NUMBER).description("고유번호"),
+                                        fieldWithPath("content[].name").type(JsonFieldType.STRING).description("박진희")
+                                ).and(responsePageFields())
+                        )
+                );
+
+        mockMvc .perform( get("/customer/slice").queryParam("fields", "tel,email")
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value(CustomerConstant.invalidFieldsMessage));
+
+        // 응답 필드가 아닌 속성으로는 정렬하지 않는다.
+        mockMvc .perform( get("/customer/slice").queryParam("sort", "version,desc")
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value(CustomerConstant.invalidSortMessage));
+        mockMvc .perform( get("/customer").queryParam("sort", "unknown")
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value(CustomerConstant.invalidSortMessage));
+    }
+
+    @Test
+    @DisplayName("고객 여러 명 조회")
+    public void getByIds() throws Exception {
+        MvcResult saved = mockMvc .perform( post("/customer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new CustomerInsertRequest("여러명", "01012120001"))))
+                .andExpect(status().isOk())
+                .andReturn();
+        long id = objectMapper.readTree(saved.getResponse().getContentAsByteArray()).get("id").asLong();
+
+        // 1 은 캐시에서, 새로 저장한 고객은 in 절 조회로 가져온다.
+        mockMvc .perform( get("/customer/{id}", 1)).andExpect(status().isOk());
+
+        mockMvc .perform( get("/customer").queryParam("ids", id + ",1,987654321," + id)
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(id))
+                .andExpect(jsonPath("$.content[1].id").value(1))
+                .andExpect(jsonPath("$.missing[0]").value(987654321))
+                .andDo(
+                        document("customer-multi-get",
+                                queryParameters(
+                                        parameterWithName("ids").description("고객 id 목록, 최대 100개")
+                                ),
+                                responseFields (
+                                        fieldWithPath("content").type(JsonFieldType.ARRAY).description("고객 정보, 요청한 id 순서"),
+                                        fieldWithPath("content[].id").type(JsonFieldType.NUMBER).description("고유번호"),
+                                        fieldWithPath("content[].name").type(JsonFieldType.STRING).description("박진희"),
+                                        fieldWithPath("content[].tel").type(JsonFieldType.STRING).description("전화번호"),
+                                        fieldWithPath("missing").type(JsonFieldType.ARRAY).description("존재하지 않는 고객 id")
+                                )
+                        )
+                );
+
+        String tooMany = String.join(",", Collections.nCopies(101, "1"));
+        mockMvc .perform( get("/customer").queryParam("ids", tooMany)
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value(CustomerConstant.idsSizeExceededMessage.formatted(100)));
+    }
+
+    @Test
+    @DisplayName("고객 리스트 조회 (count 없음)")
+    public void getSlice() throws Exception {
+        mockMvc .perform( get("/customer/slice").queryParam("size", "10").queryParam("page", "0").queryParam("sort", "id,desc").queryParam("total", "true")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andDo(
+                        document("customer-slice",
+                                queryParameters(
+                                        parameterWithName("size").description("페이지 크기"),
+                                        parameterWithName("page").description("페이지 번호"),
+                                        parameterWithName("sort").description("정렬 기준"),
+                                        parameterWithName("total").description("근사 전체 고객 수 포함 여부")
+                                ),
+                                responseFields (
+                                        fieldWithPath("content").type(JsonFieldType.ARRAY).description("고객 정보"),
+                                        fieldWithPath("content[].id").type(JsonFieldType.NUMBER).description("고유번호"),
+                                        fieldWithPath("content[].name").type(JsonFieldType.STRING).description("박진희"),
+                                        fieldWithPath("content[].tel").type(JsonFieldType.STRING).description("전화번호"),
+                                        fieldWithPath("number").type(JsonFieldType.NUMBER).description("페이지 번호"),
+                                        fieldWithPath("size").type(JsonFieldType.NUMBER).description("페이지 크기"),
+                                        fieldWithPath("hasNext").type(JsonFieldType.BOOLEAN).description("다음 페이지 존재 여부"),
+                                        fieldWithPath("approximateTotal").type(JsonFieldType.NUMBER).description("근사 전체 고객 수").optional()
+                                )
+                        )
+                );
+    }
+
+    @Test
+    @DisplayName("고객 리스트 커서 조회")
+    public void getCursorList() throws Exception {
+        mockMvc .perform( get("/customer/cursor").queryParam("size", "1")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andDo(
+                        document("customer-cursor",
+                                queryParameters(
+                                        parameterWithName("size").description("페이지 크기")
+                                ),
+                                responseFields (
+                                        fieldWithPath("content").type(JsonFieldType.ARRAY).description("고객 정보"),
+                                        fieldWithPath("content[].id").type(JsonFieldType.NUMBER).description("고유번호"),
+                                        fieldWithPath("content[].name").type(JsonFieldType.STRING).description("박진희"),
+                                        fieldWithPath("content[].tel").type(JsonFieldType.STRING).description("전화번호"),
+                                        fieldWithPath("size").type(JsonFieldType.NUMBER).description("페이지 크기"),
+                                        fieldWithPath("next").type(JsonFieldType.STRING).description("다음 페이지 커서 (after)").optional(),
+                                        fieldWithPath("previous").type(JsonFieldType.STRING).description("이전 페이지 커서 (before)").optional()
+                                )
+                        )
+                );
+    }
+
+    @Test
+    @DisplayName("고객 리스트 커서 조회 실패")
+    public void getCursorListFail() throws Exception {
+        mockMvc .perform( get("/customer/cursor").queryParam("after", "잘못된커서")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value(CustomerConstant.invalidCursorMessage));
+    }
+
+    @Test
+    @DisplayName("고객 검색 - 휴대폰 번호")
+    public void searchByTel() throws Exception {
+        mockMvc .perform( get("/customer/search").queryParam("tel", "0109924").queryParam("size", "10")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andDo(
+                        document("customer-search-tel",
+                                queryParameters(
+                                        parameterWithName("tel").description("휴대폰 번호 또는 앞부분"),
+                                        parameterWithName("size").description("최대 결과 수")
+                                ),
+                                responseFields (
+                                        fieldWithPath("[]").type(JsonFieldType.ARRAY).description("고객 정보"),
+                                        fieldWithPath("[].id").type(JsonFieldType.NUMBER).description("고유번호").optional(),
+                                        fieldWithPath("[].name").type(JsonFieldType.STRING).description("박진희").optional(),
+                                        fieldWithPath("[].tel").type(JsonFieldType.STRING).description("전화번호").optional()
+                                )
+                        )
+                );
+    }
+
+    @Test
+    @DisplayName("고객 검색 - 이름 초성")
+    public void searchByName() throws Exception {
+        mockMvc .perform( get("/customer/search").queryParam("name", "ㅂㅈㅎ").queryParam("size", "10")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("박진희"))
+                .andDo(
+                        document("customer-search-name",
+                                queryParameters(
+                                        parameterWithName("name").description("이름 일부 또는 초성"),
+                                        parameterWithName("size").description("최대 결과 수")
+                                ),
+                                responseFields (
+                                        fieldWithPath("[].id").type(JsonFieldType.NUMBER).description("고유번호"),
+                                        fieldWithPath("[].name").type(JsonFieldType.STRING).description("박진희"),
+                                        fieldWithPath("[].tel").type(JsonFieldType.STRING).description("전화번호")
+                                )
+                        )
+                );
+    }
+
+    @Test
+    @DisplayName("고객 전체 내보내기")
+    public void export() throws Exception {
+        MvcResult result = mockMvc .perform( get("/customer/export").queryParam("format", "csv")
+                        .accept(MediaType.ALL))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc .perform( asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(content().string(startsWith("id,name,tel\n1,")))
+                .andDo(
+                        document("customer-export",
+                                queryParameters(
+                                        parameterWithName("format").description("ndjson 또는 csv")
+                                )
+                        )
+                );
+    }
+
+    @Test
+    @DisplayName("고객 전체 내보내기 (NDJSON)")
+    public void exportNdjson() throws Exception {
+        MvcResult result = mockMvc .perform( get("/customer/export")
+                        .accept(MediaType.ALL))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc .perform( asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andExpect(content().string(startsWith("{\"id\":1,")));
+    }
+
+    @Test
+    @DisplayName("고객 변경 피드 (SSE)")
+    public void changes() throws Exception {
+        MvcResult live = mockMvc .perform( get("/customer/changes")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc .perform( post("/customer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new CustomerInsertRequest("변경피드", "01088880001"))))
+                .andExpect(status().isOk());
+
+        String received = awaitContent(live, "01088880001");
+        assertTrue(received.contains("event:INSERTED"));
+        Matcher id = Pattern.compile("id:(\\w+)-(\\d+)").matcher(received);
+        assertTrue(id.find());
+        String lastEventId = id.group(1) + "-" + id.group(2);
+
+        // 끊긴 뒤 마지막으로 받은 id 로 다시 연결하면 그 다음 변경부터 받는다.
+        mockMvc .perform( post("/customer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new CustomerInsertRequest("변경피드", "01088880002"))))
+                .andExpect(status().isOk());
+
+        MvcResult resumed = mockMvc .perform( get("/customer/changes")
+                        .header("Last-Event-ID", lastEventId)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String replayed = awaitContent(resumed, "01088880002");
+        assertFalse(replayed.contains("01088880001"));
+        document("customer-changes",
+                requestHeaders(
+                        headerWithName("Last-Event-ID").optional().description("마지막으로 받은 이벤트 id, 이후 변경부터 이어 받는다.")
+                )
+        ).handle(resumed);
+
+        // 알 수 없는 id 면 reset 이벤트로 다시 조회하라고 알린다.
+        MvcResult reset = mockMvc .perform( get("/customer/changes")
+                        .header("Last-Event-ID", "unknown")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitContent(reset, "event:reset");
+
+        // 재시작 전 프로세스의 id 는 순번이 같아도 이어 받지 않는다.
+        MvcResult restarted = mockMvc .perform( get("/customer/changes")
+                        .header("Last-Event-ID", "0-" + id.group(2))
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitContent(restarted, "event:reset");
+    }
+
+    // SSE 는 응답이 끝나지 않으므로 기대한 내용이 올 때까지 기다린다.
+    private String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String content = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        }
+        assertTrue(content.contains(expected), content);
+        return content;
+    }
+
     @Test
     @DisplayName("고객 정보 조회")
     public void getDetail() throws Exception {
@@ -95,6 +427,72 @@ public class CustomerIntegratedTest {
                 );
     }
 
+    @Test
+    @DisplayName("고객 정보 캐시 - 수정 후 무효화")
+    public void getDetailCache() throws Exception {
+        Cache cache = cacheManager.getCache(CustomerConstant.name);
+
+        mockMvc .perform( get("/customer/{id}", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        assertNotNull(cache.get(1L));
+
+        CustomerUpdateRequest request = new CustomerUpdateRequest("박진희", "01040234504");
+        mockMvc .perform( put("/customer/{id}", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    @DisplayName("고객 정보 조회 - 변경 없음 (If-None-Match)")
+    public void getDetailNotModified() throws Exception {
+        String eTag = mockMvc .perform( get("/customer/{id}", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc .perform( get("/customer/{id}", 1)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andDo(
+                        document("customer-detail-not-modified",
+                                pathParameters(
+                                        parameterWithName("id").description("고유번호")
+                                ),
+                                requestHeaders(
+                                        headerWithName(HttpHeaders.IF_NONE_MATCH).description("이전 응답의 ETag")
+                                ),
+                                responseHeaders(
+                                        headerWithName(HttpHeaders.ETAG).description("현재 버전")
+                                )
+                        )
+                );
+    }
+
+    @Test
+    @DisplayName("고객 리스트 조회 - 변경 없음 (If-None-Match)")
+    public void getListNotModified() throws Exception {
+        String eTag = mockMvc .perform( get("/customer").queryParam("size", "10")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc .perform( get("/customer").queryParam("size", "10")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc .perform( get("/customer").queryParam("size", "1")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+
     @Test
     @DisplayName("고객 정보 조회 실패")
     public void getDetailFail() throws Exception {
@@ -140,6 +538,189 @@ public class CustomerIntegratedTest {
                 );
     }
 
+    @Test
+    @DisplayName("고객 정보 저장 / 수정 실패 - 중복 휴대폰 번호")
+    public void postDuplicateTel() throws Exception {
+        CustomerInsertRequest request = new CustomerInsertRequest("김중복", "01033330001");
+        mockMvc .perform( post("/customer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isOk());
+
+        mockMvc .perform( post("/customer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.detail").value(CustomerConstant.duplicateTelMessage))
+                .andDo(
+                        document("customer-save-duplicate",
+                                responseFields (
+                                        fieldWithPath("status").type(JsonFieldType.NUMBER).description("실패 코드"),
+                                        fieldWithPath("title").type(JsonFieldType.STRING).description("실패 요인"),
+                                        fieldWithPath("detail").type(JsonFieldType.STRING).description("실패 메세지"),
+                                        fieldWithPath("instance").type(JsonFieldType.STRING).description("주소"),
+                                        fieldWithPath("type").type(JsonFieldType.STRING).description("")
+                                )
+                        )
+                );
+
+        CustomerUpdateRequest update = new CustomerUpdateRequest("박진희", "01033330001");
+        mockMvc .perform( put("/customer/{id}", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(update)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.detail").value(CustomerConstant.duplicateTelMessage));
+    }
+
+    @Test
+    @DisplayName("동시 처리 한도를 넘으면 바로 503 + Retry-After")
+    public void overloaded() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = concurrencyLimitInterceptor.getReadLimiter();
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        try {
+            Optional<AdaptiveConcurrencyLimiter.Permit> permit;
+            while ((permit = limiter.tryAcquire()).isPresent()) {
+                permits.add(permit.get());
+            }
+
+            mockMvc .perform( get("/customer/{id}", 1)
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                    .andExpect(jsonPath("$.detail").value(ConcurrencyLimitInterceptor.overloadedMessage))
+                    .andDo(
+                            document("customer-overloaded",
+                                    responseHeaders (
+                                            headerWithName(HttpHeaders.RETRY_AFTER).description("다시 시도하기까지 기다릴 시간(초)")
+                                    )
+                            )
+                    );
+
+            // 쓰기는 한도가 따로라서 영향받지 않는다.
+            mockMvc .perform( delete("/customer/{id}", 999_999))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.detail").value(CustomerConstant.notFoundMessage));
+        } finally {
+            permits.forEach(AdaptiveConcurrencyLimiter.Permit::release);
+        }
+
+        mockMvc .perform( get("/customer/{id}", 1))
+                .andExpect(status().isOk());
+        assertTrue(meterRegistry.get("http.server.concurrency.rejected").tag("group", "read").counter().count() >= 1);
+    }
+
+    @Test
+    @DisplayName("고객 일괄 저장")
+    public void postBatchSuccess() throws Exception {
+        List<CustomerInsertRequest> requests = List.of(
+                new CustomerInsertRequest("김철수", "01055550001"),
+                new CustomerInsertRequest("이영희", "01055550002")
+        );
+        mockMvc .perform( post("/customer/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(requests))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andDo(
+                        document("customer-save-batch",
+                                requestFields(
+                                        fieldWithPath("[].name").type(JsonFieldType.STRING).description("박진희"),
+                                        fieldWithPath("[].tel").type(JsonFieldType.STRING).description("전화번호")
+                                ),
+                                responseFields (
+                                        fieldWithPath("[].id").type(JsonFieldType.NUMBER).description("고유번호"),
+                                        fieldWithPath("[].name").type(JsonFieldType.STRING).description("박진희"),
+                                        fieldWithPath("[].tel").type(JsonFieldType.STRING).description("전화번호")
+                                )
+                        )
+                );
+    }
+
+    @Test
+    @DisplayName("고객 일괄 저장 실패")
+    public void postBatchFail() throws Exception {
+        List<CustomerInsertRequest> requests = List.of(
+                new CustomerInsertRequest("김철수", "01055550003"),
+                new CustomerInsertRequest("", "01055550004")
+        );
+        mockMvc .perform( post("/customer/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(requests))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("2번째 고객: 이름을 입력해주세요."))
+                .andDo(
+                        document("customer-save-batch-fail",
+                                responseFields (
+                                        fieldWithPath("status").type(JsonFieldType.NUMBER).description("실패 코드"),
+                                        fieldWithPath("title").type(JsonFieldType.STRING).description("실패 요인"),
+                                        fieldWithPath("detail").type(JsonFieldType.STRING).description("실패 메세지"),
+                                        fieldWithPath("instance").type(JsonFieldType.STRING).description("주소"),
+                                        fieldWithPath("type").type(JsonFieldType.STRING).description("")
+                                )
+                        )
+                );
+    }
+
+    @Test
+    @DisplayName("고객 대량 등록")
+    public void importCustomers() throws Exception {
+        String body = """
+                name,tel
+                김철수,01066660001
+                ,01066660002
+                가나다라마바,01066660003
+                "이,영희",01066660004
+                박영수,01066660001
+                박진희,01040234504
+                """;
+        MvcResult result = mockMvc .perform( post("/customer/import").queryParam("format", "csv")
+                        .contentType("text/csv")
+                        .content(body.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc .perform( asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andExpect(content().string("""
+                        {"line":3,"detail":"이름을 입력해주세요."}
+                        {"line":4,"detail":"이름은 5자리 이내로 입력해주세요."}
+                        {"line":6,"detail":"이미 등록된 휴대폰 번호입니다."}
+                        {"line":7,"detail":"이미 등록된 휴대폰 번호입니다."}
+                        {"imported":2,"rejected":4}
+                        """))
+                .andDo(
+                        document("customer-import",
+                                queryParameters(
+                                        parameterWithName("format").description("ndjson 또는 csv")
+                                )
+                        )
+                );
+    }
+
+    @Test
+    @DisplayName("고객 대량 등록 - 너무 긴 줄은 그 줄만 실패")
+    public void importLongLine() throws Exception {
+        String body = "{\"name\":\"" + "가".repeat(2000) + "\",\"tel\":\"01066670001\"}\r\n"
+                + "{\"name\":\"\",\"tel\":\"01066670002\"}\r\n";
+        MvcResult result = mockMvc .perform( post("/customer/import").queryParam("format", "ndjson")
+                        .contentType("application/x-ndjson")
+                        .content(body.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc .perform( asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("""
+                        {"line":1,"detail":"한 줄은 최대 1024자까지 입력할 수 있습니다."}
+                        {"line":2,"detail":"이름을 입력해주세요."}
+                        {"imported":0,"rejected":2}
+                        """));
+    }
+
     @Test
     @DisplayName("고객 정보 저장 실패")
     public void postFail() throws Exception {
@@ -166,7 +747,7 @@ public class CustomerIntegratedTest {
     @Test
     @DisplayName("고객 정보 수정")
     public void putSuccess() throws Exception {
-        CustomerUpdateRequest request = new CustomerUpdateRequest("박진희", "01022223333");
+        CustomerUpdateRequest request = new CustomerUpdateRequest("박진희", "01022224444");
         mockMvc .perform( put("/customer/{id}", 1)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsBytes(request))
@@ -190,6 +771,74 @@ public class CustomerIntegratedTest {
                 );
     }
 
+    @Test
+    @DisplayName("고객 정보 수정 - If-Match")
+    public void putIfMatch() throws Exception {
+        CustomerInsertRequest insert = new CustomerInsertRequest("최민수", "01077770001");
+        String saved = mockMvc .perform( post("/customer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(insert)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(saved).get("id").asLong();
+
+        CustomerUpdateRequest request = new CustomerUpdateRequest("최민수", "01077770002");
+        mockMvc .perform( put("/customer/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andDo(
+                        document("customer-update-put-if-match",
+                                pathParameters(
+                                        parameterWithName("id").description("고유번호")
+                                ),
+                                requestHeaders(
+                                        headerWithName(HttpHeaders.IF_MATCH).description("조회 시 받은 ETag")
+                                ),
+                                responseHeaders(
+                                        headerWithName(HttpHeaders.ETAG).description("수정된 버전")
+                                )
+                        )
+                );
+
+        mockMvc .perform( put("/customer/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isPreconditionFailed())
+                .andDo(
+                        document("customer-update-put-conflict",
+                                responseFields (
+                                        fieldWithPath("status").type(JsonFieldType.NUMBER).description("실패 코드"),
+                                        fieldWithPath("title").type(JsonFieldType.STRING).description("실패 요인"),
+                                        fieldWithPath("detail").type(JsonFieldType.STRING).description("실패 메세지"),
+                                        fieldWithPath("instance").type(JsonFieldType.STRING).description("주소"),
+                                        fieldWithPath("type").type(JsonFieldType.STRING).description("")
+                                )
+                        )
+                );
+
+        // If-Match 없이 수정해도 새 버전을 ETag 로 받는다.
+        mockMvc .perform( put("/customer/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+
+        mockMvc .perform( delete("/customer/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "\"1\""))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc .perform( delete("/customer/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "\"2\""))
+                .andExpect(status().isOk());
+    }
+
     @Test
     @DisplayName("고객 정보 수정 실패")
     public void putFail() throws Exception {
@@ -251,6 +900,36 @@ public class CustomerIntegratedTest {
                 );
     }
 
+    @Test
+    @DisplayName("서비스 / 영속성 메트릭")
+    public void metrics() throws Exception {
+        mockMvc.perform(get("/customer/{id}", 1)).andExpect(status().isOk());
+        mockMvc.perform(get("/customer/{id}", 987654321)).andExpect(status().isBadRequest());
+
+        Timer success = meterRegistry.find("customer.service").tags("method", "getCustomer", "outcome", "SUCCESS").timer();
+        Timer notFound = meterRegistry.find("customer.service").tags("method", "getCustomer", "outcome", "NOT_FOUND").timer();
+        assertNotNull(success);
+        assertNotNull(notFound);
+        assertTrue(success.count() > 0);
+        assertTrue(notFound.count() > 0);
+
+        assertNotNull(meterRegistry.find("hibernate.statements").meter());
+        assertNotNull(meterRegistry.find("hikaricp.connections.acquire").timer());
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", CustomerConstant.name).meter());
+    }
+
+    @Test
+    @DisplayName("쿼리 형태별 통계 (actuator sqlstats)")
+    public void sqlStats() throws Exception {
+        mockMvc.perform(get("/customer").queryParam("size", "10")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/sqlstats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.shape =~ /select .* from customer .*/i)]").exists())
+                .andExpect(jsonPath("$[0].count").isNumber())
+                .andExpect(jsonPath("$[0].p99Millis").isNumber());
+    }
+
     private List<FieldDescriptor> responsePageFields() {
         return List.of(
                 fieldWithPath("pageable").type(JsonFieldType.OBJECT).description("페이징 정보"),
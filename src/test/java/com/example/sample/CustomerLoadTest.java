@@ -0,0 +1,371 @@
+package com.example.sample;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 고객 API 부하 테스트 (기본 빌드에서는 제외, ./mvnw -Pload-test test)
+ *
+ * 실제 포트로 띄운 서버에 조회 / 저장 / 수정 / 삭제를 섞어서 보내고
+ * 요청별 처리량과 p50 / p95 / p99 / p999 지연을 기록한다.
+ *
+ * 절대 지연은 장비마다 다르므로, 같은 실행에서 고객 코드와 무관한 보정 요청(GET /actuator/info)을
+ * 같은 동시성으로 먼저 보내고 각 요청의 지연 / 처리량을 보정 요청 대비 비율(relative)로 비교한다.
+ * 결과는 target/load-result.json 에 남기고, 기준(src/test/resources/load-baseline.json)의 비율보다
+ * 허용 범위 이상 나빠지면 실패한다. 기준을 갱신하려면 결과 파일을 그대로 복사하면 되고,
+ * 환경별 기준을 따로 두려면 -Dload.baseline=<파일 경로> 로 지정한다.
+ *
+ * -Dload.concurrency=16 -Dload.warmup=5 -Dload.calibration=5 -Dload.duration=20
+ * -Dload.mix=LIST:20,GET:50,INSERT:10,UPDATE:10,DELETE:10 -Dload.tolerance=0.5 -Dload.baseline=
+ */
+@Tag("load")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "logging.level.com.example.sample=INFO"
+)
+public class CustomerLoadTest {
+
+    enum Operation { LIST, GET, INSERT, UPDATE, DELETE }
+
+    private static final String baselineResource = "/load-baseline.json";
+    // 보정 요청, DB / 고객 코드를 거치지 않는다.
+    private static final String calibrationPath = "/actuator/info";
+    private static final Path resultPath = Path.of("target", "load-result.json");
+
+    // 최대 1분, 유효숫자 3자리
+    private static final long highestTrackableNanos = TimeUnit.MINUTES.toNanos(1);
+
+    // 기준과 비교하는 지연 백분위 (결과 필드 이름, 분위)
+    private static final Map<String, Double> percentiles = Map.of("p50", 0.5, "p95", 0.95, "p99", 0.99, "p999", 0.999);
+
+    private final int concurrency = Integer.getInteger("load.concurrency", 16);
+    private final int warmupSeconds = Integer.getInteger("load.warmup", 5);
+    private final int calibrationSeconds = Integer.getInteger("load.calibration", 5);
+    private final int durationSeconds = Integer.getInteger("load.duration", 20);
+    private final String mix = System.getProperty("load.mix", "LIST:20,GET:50,INSERT:10,UPDATE:10,DELETE:10");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    // 시드 데이터나 다른 테스트와 겹치지 않는 전화번호 (077 + 일련번호)
+    private final AtomicLong telSequence = new AtomicLong();
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("혼합 부하 - 기준 대비 처리량 / 지연 회귀 확인")
+    void mixedWorkload() throws Exception {
+        Operation[] weighted = weightedOperations(mix);
+
+        run(warmupSeconds, deadline -> work(weighted, deadline, null, null));
+
+        Histogram calibration = new ConcurrentHistogram(highestTrackableNanos, 3);
+        LongAdder calibrationFailures = new LongAdder();
+        double calibrationElapsed = run(calibrationSeconds, deadline -> calibrate(deadline, calibration, calibrationFailures));
+
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        Map<Operation, LongAdder> failures = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(highestTrackableNanos, 3));
+            failures.put(operation, new LongAdder());
+        }
+        double elapsedSeconds = run(durationSeconds, deadline -> work(weighted, deadline, histograms, failures));
+
+        JsonNode baseline = baseline();
+        ObjectNode result = report(histograms, failures, elapsedSeconds,
+                summary(calibration, calibrationFailures, calibrationElapsed), tolerance(baseline));
+        Files.createDirectories(resultPath.getParent());
+        objectMapper.writeValue(resultPath.toFile(), result);
+
+        List<String> regressions = compare(result, baseline);
+        if (calibrationFailures.sum() > 0) {
+            regressions.add("보정 요청 실패 응답 " + calibrationFailures.sum() + "건");
+        }
+        failures.forEach((operation, count) -> {
+            if (count.sum() > 0) {
+                regressions.add(operation + " 실패 응답 " + count.sum() + "건");
+            }
+        });
+        assertTrue(regressions.isEmpty(), String.join("\n", regressions));
+    }
+
+    private interface Worker {
+        void work(long deadline) throws IOException, InterruptedException;
+    }
+
+    /**
+     * concurrency 개의 워커가 deadline 까지 쉬지 않고 요청을 보낸다 (closed loop)
+     */
+    private double run(int seconds, Worker worker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> {
+                    worker.work(deadline);
+                    return null;
+                }));
+            }
+            for (Future<?> future : workers) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return (System.nanoTime() - start) / 1_000_000_000.0;
+    }
+
+    /**
+     * histograms 가 null 이면 워밍업으로 보고 기록하지 않는다.
+     */
+    private void work(
+            Operation[] weighted,
+            long deadline,
+            Map<Operation, Histogram> histograms,
+            Map<Operation, LongAdder> failures
+    ) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // 워커가 직접 만든 고객만 수정 / 삭제한다
+        Deque<Long> owned = new ArrayDeque<>();
+
+        while (System.nanoTime() < deadline) {
+            Operation operation = weighted[random.nextInt(weighted.length)];
+            if ((operation == Operation.UPDATE || operation == Operation.DELETE) && owned.isEmpty()) {
+                operation = Operation.INSERT;
+            }
+
+            HttpRequest request = request(operation, owned);
+            long begin = System.nanoTime();
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long latency = System.nanoTime() - begin;
+
+            boolean success = response.statusCode() == 200;
+            if (success) {
+                switch (operation) {
+                    case INSERT -> owned.addLast(objectMapper.readTree(response.body()).get("id").asLong());
+                    case DELETE -> owned.removeFirst();
+                    default -> { }
+                }
+            }
+            if (histograms == null) {
+                continue;
+            }
+            if (success) {
+                histograms.get(operation).recordValue(Math.min(latency, highestTrackableNanos));
+            } else {
+                failures.get(operation).increment();
+            }
+        }
+    }
+
+    private void calibrate(long deadline, Histogram histogram, LongAdder failures) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + calibrationPath))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        while (System.nanoTime() < deadline) {
+            long begin = System.nanoTime();
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long latency = System.nanoTime() - begin;
+            if (response.statusCode() == 200) {
+                histogram.recordValue(Math.min(latency, highestTrackableNanos));
+            } else {
+                failures.increment();
+            }
+        }
+    }
+
+    private HttpRequest request(Operation operation, Deque<Long> owned) {
+        String base = "http://localhost:" + port + "/customer";
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+
+        return switch (operation) {
+            case LIST -> builder.uri(URI.create(base + "?page=0&size=20")).GET().build();
+            case GET -> builder.uri(URI.create(base + "/" + (owned.isEmpty() ? 1L : owned.peekLast()))).GET().build();
+            case INSERT -> builder.uri(URI.create(base))
+                    .header("Content-Type", "application/json")
+                    .POST(body("부하", nextTel()))
+                    .build();
+            case UPDATE -> builder.uri(URI.create(base + "/" + owned.peekLast()))
+                    .header("Content-Type", "application/json")
+                    .PUT(body("부하수정", nextTel()))
+                    .build();
+            case DELETE -> builder.uri(URI.create(base + "/" + owned.peekFirst())).DELETE().build();
+        };
+    }
+
+    private HttpRequest.BodyPublisher body(String name, String tel) {
+        String json = "{\"name\":\"" + name + "\",\"tel\":\"" + tel + "\"}";
+        return HttpRequest.BodyPublishers.ofString(json, StandardCharsets.UTF_8);
+    }
+
+    private String nextTel() {
+        return String.format("077%08d", telSequence.incrementAndGet());
+    }
+
+    /**
+     * 요청별 절대값과 함께 보정 요청 대비 비율(relative)을 남긴다. 비교는 relative 로 한다.
+     */
+    private ObjectNode report(
+            Map<Operation, Histogram> histograms,
+            Map<Operation, LongAdder> failures,
+            double elapsedSeconds,
+            ObjectNode calibration,
+            double tolerance
+    ) {
+        ObjectNode result = objectMapper.createObjectNode();
+        result.put("tolerance", tolerance);
+        result.put("concurrency", concurrency);
+        result.put("durationSeconds", durationSeconds);
+        result.put("mix", mix);
+        result.set("calibration", calibration);
+
+        ObjectNode operations = result.putObject("operations");
+        histograms.forEach((operation, histogram) -> {
+            if (histogram.getTotalCount() == 0) {
+                return;
+            }
+            ObjectNode node = summary(histogram, failures.get(operation), elapsedSeconds);
+            ObjectNode relative = node.putObject("relative");
+            relative.put("throughput", ratio(node.get("throughput").asDouble(), calibration.get("throughput").asDouble()));
+            for (String name : percentiles.keySet()) {
+                relative.put(name, ratio(node.get(name).asDouble(), calibration.get(name).asDouble()));
+            }
+            operations.set(operation.name(), node);
+        });
+        return result;
+    }
+
+    private ObjectNode summary(Histogram histogram, LongAdder failures, double elapsedSeconds) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("count", histogram.getTotalCount());
+        node.put("failures", failures.sum());
+        node.put("throughput", round(histogram.getTotalCount() / elapsedSeconds));
+        node.put("p50", millis(histogram.getValueAtPercentile(50)));
+        node.put("p95", millis(histogram.getValueAtPercentile(95)));
+        node.put("p99", millis(histogram.getValueAtPercentile(99)));
+        node.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+        node.put("max", millis(histogram.getMaxValue()));
+        return node;
+    }
+
+    /**
+     * 보정 요청 대비 비율로 비교한다. 지연 비율은 기준 * (1 + tolerance) 이하, 처리량 비율은 기준 * (1 - tolerance) 이상이어야 한다.
+     * 백분위 위쪽 샘플이 10건도 안 되면 (예: 1000건의 p999) 한두 건에 좌우되므로 비교하지 않는다. (보정 요청도 같다)
+     */
+    private List<String> compare(JsonNode result, JsonNode baseline) {
+        List<String> regressions = new ArrayList<>();
+        if (baseline == null) {
+            return regressions;
+        }
+        double tolerance = tolerance(baseline);
+        long calibrationCount = Math.min(
+                baseline.path("calibration").path("count").asLong(), result.path("calibration").path("count").asLong());
+
+        baseline.path("operations").fields().forEachRemaining(entry -> {
+            JsonNode expected = entry.getValue().path("relative");
+            JsonNode actual = result.path("operations").path(entry.getKey()).path("relative");
+            if (expected.isMissingNode() || actual.isMissingNode()) {
+                return;
+            }
+            long count = Math.min(calibrationCount, Math.min(
+                    entry.getValue().path("count").asLong(), result.path("operations").path(entry.getKey()).path("count").asLong()));
+            for (Map.Entry<String, Double> percentile : percentiles.entrySet()) {
+                if (count * (1 - percentile.getValue()) < 10) {
+                    continue;
+                }
+                String name = percentile.getKey();
+                if (expected.has(name)
+                        && actual.get(name).asDouble() > expected.get(name).asDouble() * (1 + tolerance)) {
+                    regressions.add("%s %s 보정 요청의 %.2f배 > 기준 %.2f배".formatted(
+                            entry.getKey(), name, actual.get(name).asDouble(), expected.get(name).asDouble()));
+                }
+            }
+            if (expected.has("throughput")
+                    && actual.get("throughput").asDouble() < expected.get("throughput").asDouble() * (1 - tolerance)) {
+                regressions.add("%s throughput 보정 요청의 %.3f배 < 기준 %.3f배".formatted(
+                        entry.getKey(), actual.get("throughput").asDouble(), expected.get("throughput").asDouble()));
+            }
+        });
+        return regressions;
+    }
+
+    private JsonNode baseline() throws IOException {
+        String path = System.getProperty("load.baseline");
+        if (path != null && !path.isBlank()) {
+            Path file = Path.of(path);
+            return Files.exists(file) ? objectMapper.readTree(file.toFile()) : null;
+        }
+        try (InputStream inputStream = getClass().getResourceAsStream(baselineResource)) {
+            return inputStream == null ? null : objectMapper.readTree(inputStream);
+        }
+    }
+
+    private double tolerance(JsonNode baseline) {
+        String override = System.getProperty("load.tolerance");
+        if (override != null) {
+            return Double.parseDouble(override);
+        }
+        return baseline == null ? 0.5 : baseline.path("tolerance").asDouble(0.5);
+    }
+
+    private static Operation[] weightedOperations(String mix) {
+        List<Operation> operations = new ArrayList<>();
+        for (String token : mix.split(",")) {
+            String[] pair = token.trim().split(":");
+            Operation operation = Operation.valueOf(pair[0].trim().toUpperCase());
+            operations.addAll(Collections.nCopies(Integer.parseInt(pair[1].trim()), operation));
+        }
+        return operations.toArray(Operation[]::new);
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    private static double ratio(double value, double calibration) {
+        return calibration == 0 ? 0 : Math.round(value / calibration * 1_000) / 1_000.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
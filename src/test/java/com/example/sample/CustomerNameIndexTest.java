@@ -0,0 +1,77 @@
+package com.example.sample;
+
+import com.example.sample.customer.CustomerDTO;
+import com.example.sample.customer.CustomerNameIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class CustomerNameIndexTest {
+
+    @Autowired
+    private CustomerNameIndex index;
+
+    private final List<CustomerDTO> customers = List.of(
+            new CustomerDTO(-1L, "박진희", "01000000001"),
+            new CustomerDTO(-2L, "박진", "01000000002"),
+            new CustomerDTO(-3L, "김박진희", "01000000003"),
+            new CustomerDTO(-4L, "방자현", "01000000004")
+    );
+
+    @BeforeEach
+    void setUp() {
+        customers.forEach(index::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        customers.forEach(customer -> index.remove(customer.id()));
+    }
+
+    @Test
+    @DisplayName("부분 일치 - 정확히 일치, 앞부분 일치, 부분 일치 순")
+    void partial() {
+        assertEquals(List.of(-2L, -1L, -3L), ids(index.search("박진", 10)));
+        assertEquals(List.of(-1L, -3L), ids(index.search("진희", 10)));
+    }
+
+    @Test
+    @DisplayName("초성 검색")
+    void initials() {
+        assertEquals(List.of(-4L, -1L, -3L), ids(index.search("ㅂㅈㅎ", 10)));
+        assertEquals(List.of(-1L, -3L), ids(index.search("박ㅈㅎ", 10)));
+        assertEquals(List.of(-4L), ids(index.search("ㅂ자", 10)));
+    }
+
+    @Test
+    @DisplayName("수정 / 삭제 반영")
+    void update() {
+        index.add(new CustomerDTO(-1L, "유광열", "01000000001"));
+        assertEquals(List.of(-4L, -3L), ids(index.search("ㅂㅈㅎ", 10)));
+        assertEquals(List.of(-1L), ids(index.search("ㅇㄱㅇ", 10)));
+
+        index.remove(-4L);
+        assertEquals(List.of(-3L), ids(index.search("ㅂㅈㅎ", 10)));
+        assertTrue(index.search("방자", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("결과 수 제한")
+    void limit() {
+        assertEquals(1, index.search("박", 1).size());
+    }
+
+    // 시드 데이터(양수 id)는 제외하고 테스트 고객만 비교한다.
+    private List<Long> ids(List<CustomerDTO> customers) {
+        return customers.stream().map(CustomerDTO::id).filter(id -> id < 0).toList();
+    }
+}
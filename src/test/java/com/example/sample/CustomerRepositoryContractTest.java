@@ -0,0 +1,158 @@
+package com.example.sample;
+
+import com.example.sample.customer.CustomerDTO;
+import com.example.sample.customer.CustomerEntity;
+import com.example.sample.customer.CustomerField;
+import com.example.sample.customer.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// CustomerRepository 구현(JPA / 메모리 컬럼 저장소)이 함께 통과해야 하는 테스트, 구현마다 상속해서 실행한다.
+// 테스트 메서드의 트랜잭션(롤백)은 메서드를 선언한 클래스의 애너테이션을 보기 때문에 @DataJpaTest 를 여기에 둔다.
+@DataJpaTest
+public abstract class CustomerRepositoryContractTest {
+
+    protected final CustomerRepository repository;
+
+    protected CustomerRepositoryContractTest(CustomerRepository repository) {
+        this.repository = repository;
+    }
+
+    @Test
+    void save () {
+        var saveCustomer = saveCustomer();
+        assertEquals(saveCustomer.getTel(), CustomerExample.customer.getTel());
+        assertEquals(saveCustomer.getName(), CustomerExample.customer.getName());
+    }
+
+    @Test
+    void findById() {
+        var saveCustomer = saveCustomer();
+        var optional = this.repository.findById(saveCustomer.getId());
+        assertTrue(optional.isPresent());
+    }
+
+    @Test
+    void update () {
+        var saveCustomer = saveCustomer();
+        saveCustomer.setTel("01040234503");
+
+        var updateCustomer = repository.save(saveCustomer);
+        assertEquals(updateCustomer.getTel(), "01040234503");
+    }
+
+    @Test
+    void updateIfVersion () {
+        var saveCustomer = repository.saveAndFlush(new CustomerEntity(null, "김철수", "01055550001"));
+        var version = saveCustomer.getVersion();
+
+        assertEquals(0, repository.updateCustomerIfVersion(saveCustomer.getId(), version + 1, "김철수", "01055550002"));
+        assertEquals(1, repository.updateCustomerIfVersion(saveCustomer.getId(), version, "김철수", "01055550002"));
+        assertEquals(0, repository.deleteCustomerIfVersion(saveCustomer.getId(), version));
+        assertEquals(1, repository.deleteCustomerIfVersion(saveCustomer.getId(), version + 1));
+    }
+
+    @Test
+    void delete () {
+        var saveCustomer = saveCustomer();
+        repository.delete(saveCustomer);
+        assertTrue(repository.findById(saveCustomer.getId()).isEmpty());
+    }
+
+    @Test
+    void saveAll () {
+        var customers = repository.saveAll(List.of(
+                new CustomerEntity(null, "김철수", "01055550001"),
+                new CustomerEntity(null, "이영희", "01055550002")
+        ));
+        assertEquals(customers.get(0).getId() + 1, customers.get(1).getId());
+        assertTrue(customers.get(0).getId() > 2);
+    }
+
+    @Test
+    void findAllDTOByIdIn () {
+        var customers = repository.saveAllAndFlush(List.of(
+                new CustomerEntity(null, "김철수", "01055550001"),
+                new CustomerEntity(null, "이영희", "01055550002")
+        ));
+        var ids = List.of(customers.get(0).getId(), customers.get(1).getId(), 987654321L);
+
+        var found = repository.findAllDTOByIdIn(ids);
+        assertEquals(2, found.size());
+        assertTrue(found.stream().allMatch(customer -> ids.contains(customer.id())));
+    }
+
+    @Test
+    void streamAll () {
+        try (var customers = repository.streamAllDTO()) {
+            var ids = customers.map(CustomerDTO::id).toList();
+            assertEquals(repository.count(), ids.size());
+            assertTrue(ids.get(0) < ids.get(ids.size() - 1));
+        }
+    }
+
+    @Test
+    void findByTel () {
+        repository.save(new CustomerEntity(null, "김철수", "01055551234"));
+        repository.save(new CustomerEntity(null, "이영희", "01055551235"));
+
+        assertEquals(2, repository.findByTelStartingWithOrderByTelAscIdAsc("0105555123", PageRequest.ofSize(10)).size());
+        assertEquals(1, repository.findByTelStartingWithOrderByTelAscIdAsc("0105555123", PageRequest.ofSize(1)).size());
+        assertEquals("이영희", repository.findByTel("01055551235").get(0).name());
+    }
+
+    @Test
+    void keyset () {
+        var first = repository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.ofSize(1));
+        assertEquals(1, first.size());
+
+        var next = repository.findByIdGreaterThanOrderByIdAsc(first.get(0).id(), PageRequest.ofSize(1));
+        assertTrue(next.get(0).id() > first.get(0).id());
+
+        var previous = repository.findByIdLessThanOrderByIdDesc(next.get(0).id(), PageRequest.ofSize(1));
+        assertEquals(first.get(0).id(), previous.get(0).id());
+    }
+
+    @Test
+    void findAllDTO () {
+        var page = repository.findAllDTO(EnumSet.of(CustomerField.NAME), PageRequest.of(0, 1, Sort.by("id")));
+        assertEquals(repository.count(), page.getTotalElements());
+        assertEquals(1L, page.getContent().get(0).id());
+        assertNotNull(page.getContent().get(0).name());
+        assertNull(page.getContent().get(0).tel());
+
+        var slice = repository.findAllDTOSlice(CustomerField.all(), PageRequest.of(0, 1, Sort.by("id")));
+        assertTrue(slice.hasNext());
+        assertEquals(1, slice.getContent().size());
+        assertNotNull(slice.getContent().get(0).tel());
+    }
+
+    @Test
+    void findAllDTOPastEnd () {
+        for (String property : List.of("id", "name", "tel")) {
+            var page = repository.findAllDTO(CustomerField.all(), PageRequest.of(1000, 10, Sort.by(Sort.Direction.DESC, property)));
+            assertTrue(page.getContent().isEmpty());
+            assertEquals(repository.count(), page.getTotalElements());
+
+            var slice = repository.findAllDTOSlice(CustomerField.all(), PageRequest.of(Integer.MAX_VALUE, 10, Sort.by(property)));
+            assertTrue(slice.getContent().isEmpty());
+            assertFalse(slice.hasNext());
+        }
+    }
+
+    private CustomerEntity saveCustomer() {
+        return repository.save(CustomerExample.customer);
+    }
+
+}
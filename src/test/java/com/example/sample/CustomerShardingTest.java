@@ -0,0 +1,180 @@
+package com.example.sample;
+
+import com.example.sample.common.exception.Common409Exception;
+import com.example.sample.common.exception.Common412Exception;
+import com.example.sample.common.id.SnowflakeIdGenerator;
+import com.example.sample.customer.*;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 로컬 H2 3개를 샤드로 두고, 각 샤드 DB 를 직접 조회해서 어디에 저장됐는지 확인한다.
+@SpringBootTest(properties = {
+        "customer.sharding.enabled=true",
+        "customer.sharding.shards[0].url=jdbc:h2:mem:customer-shard-0;DB_CLOSE_DELAY=-1",
+        "customer.sharding.shards[1].url=jdbc:h2:mem:customer-shard-1;DB_CLOSE_DELAY=-1",
+        "customer.sharding.shards[2].url=jdbc:h2:mem:customer-shard-2;DB_CLOSE_DELAY=-1"
+})
+public class CustomerShardingTest {
+
+    private static final int shardCount = 3;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerShards customerShards;
+
+    @Autowired
+    private CustomerImportService customerImportService;
+
+    @Test
+    @DisplayName("id 해시로 샤드에 나눠 저장하고, 단건 조회 / 수정 / 삭제는 해당 샤드로")
+    void route() {
+        List<CustomerEntity> saved = IntStream.range(0, 30)
+                .mapToObj(i -> customerService.save(new CustomerInsertRequest("샤드", "0101515%04d".formatted(i))))
+                .toList();
+
+        assertEquals(30, saved.stream().map(CustomerEntity::getId).distinct().count());
+        assertTrue(customerShards.countByShard().stream().allMatch(count -> count > 0));
+        for (CustomerEntity customer : saved) {
+            int owner = customerShards.shardOf(customer.getId());
+            for (int shard = 0; shard < shardCount; shard++) {
+                assertEquals(shard == owner ? 1 : 0, shard(shard).queryForObject(
+                        "select count(*) from customer where id = ?", Integer.class, customer.getId()));
+            }
+            assertEquals(customer.getTel(), customerService.getCustomer(customer.getId()).orElseThrow().getTel());
+        }
+
+        Long id = saved.get(0).getId();
+        CustomerUpdateRequest request = new CustomerUpdateRequest("수정", "01015159999");
+        assertThrows(Common412Exception.class, () -> customerService.update(id, request, 5L));
+        assertEquals(1L, customerService.update(id, request, 0L).orElseThrow().getVersion());
+        assertEquals(2L, customerService.update(id, request, null).orElseThrow().getVersion());
+        assertEquals("수정", customerService.getCustomer(id).orElseThrow().getName());
+        assertEquals(2L, customerService.getCustomerVersion(id).orElseThrow());
+
+        assertTrue(customerService.deleteCustomer(id, 2L));
+        assertTrue(customerService.getCustomer(id).isEmpty());
+        assertFalse(customerService.deleteCustomer(id, null));
+    }
+
+    @Test
+    @DisplayName("다른 샤드에 있는 번호도 중복으로 막는다")
+    void duplicateTel() {
+        // 생성 시각이 달라 대부분 다른 샤드로 간다.
+        List<CustomerEntity> saved = IntStream.range(0, shardCount * 4)
+                .mapToObj(i -> customerService.save(new CustomerInsertRequest("중복", "0101616%04d".formatted(i))))
+                .toList();
+        for (CustomerEntity customer : saved) {
+            assertThrows(Common409Exception.class,
+                    () -> customerService.save(new CustomerInsertRequest("중복", customer.getTel())));
+        }
+
+        CustomerEntity first = saved.get(0);
+        CustomerEntity other = saved.stream()
+                .filter(customer -> customerShards.shardOf(customer.getId()) != customerShards.shardOf(first.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertThrows(Common409Exception.class,
+                () -> customerService.update(first.getId(), new CustomerUpdateRequest("중복", other.getTel()), null));
+    }
+
+    @Test
+    @DisplayName("대량 등록은 한 줄씩 샤드에 저장하고 중복은 그 줄만 실패")
+    void importCustomers() throws Exception {
+        String body = """
+                name,tel
+                가져오기,01019190001
+                가져오기,01019190002
+                가져오기,01019190001
+                """;
+        StringWriter report = new StringWriter();
+        CustomerImportResult result = customerImportService.importCustomers(
+                CustomerFileFormat.CSV, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), report);
+
+        assertEquals(new CustomerImportResult(2, 1), result);
+        assertTrue(report.toString().startsWith("{\"line\":4,"));
+        assertTrue(customerService.isTelRegistered("01019190002"));
+    }
+
+    @Test
+    @DisplayName("목록은 샤드별 정렬 결과를 k-way merge 해서 한 DB 와 같은 페이지를 만든다")
+    void page() {
+        IntStream.range(0, 25)
+                .forEach(i -> customerService.save(new CustomerInsertRequest("이름" + (i % 4), "0101717%04d".formatted(i))));
+
+        Sort sort = Sort.by(Sort.Order.asc("name"), Sort.Order.desc("tel"));
+        Comparator<CustomerDTO> comparator = Comparator.comparing(CustomerDTO::name)
+                .thenComparing(CustomerDTO::tel, Comparator.reverseOrder());
+        List<CustomerDTO> expected = IntStream.range(0, shardCount)
+                .mapToObj(shard -> shard(shard).query("select id, name, tel from customer",
+                        (rs, rowNum) -> new CustomerDTO(rs.getLong("id"), rs.getString("name"), rs.getString("tel"))))
+                .flatMap(List::stream)
+                .sorted(comparator)
+                .toList();
+
+        int size = 7;
+        for (int number = 0; number * size < expected.size(); number++) {
+            Page<CustomerDTO> page = customerService.getCustomers(PageRequest.of(number, size, sort), CustomerField.all());
+            assertEquals(expected.size(), page.getTotalElements());
+            assertEquals(expected.subList(number * size, Math.min((number + 1) * size, expected.size())), page.getContent());
+        }
+
+        Page<CustomerDTO> telOnly = customerService.getCustomers(PageRequest.of(0, size, sort), CustomerField.parse("tel"));
+        assertNull(telOnly.getContent().get(0).name());
+        assertEquals(expected.get(0).tel(), telOnly.getContent().get(0).tel());
+    }
+
+    @Test
+    @DisplayName("id 목록 조회는 샤드별로 묶어서 조회하고 요청 순서를 유지한다")
+    void getByIds() {
+        List<Long> ids = IntStream.range(0, 10)
+                .mapToObj(i -> customerService.save(new CustomerInsertRequest("목록", "0101818%04d".formatted(i))).getId())
+                .toList();
+        List<Long> reversed = new ArrayList<>(ids);
+        Collections.reverse(reversed);
+        List<Long> requested = new ArrayList<>(reversed);
+        requested.add(1L);
+
+        CustomerMultiGetResult result = customerService.getCustomersByIds(requested);
+        assertEquals(reversed, result.content().stream().map(CustomerDTO::id).toList());
+        assertEquals(List.of(1L), result.missing());
+    }
+
+    @Test
+    @DisplayName("Snowflake id 는 한 노드 안에서 유일하고 증가한다")
+    void snowflakeId() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+        long previous = 0;
+        for (int i = 0; i < 100_000; i++) {
+            long id = generator.next();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.maxWorkerId + 1));
+    }
+
+    private static JdbcTemplate shard(int index) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:customer-shard-" + index + ";DB_CLOSE_DELAY=-1");
+        return new JdbcTemplate(dataSource);
+    }
+}
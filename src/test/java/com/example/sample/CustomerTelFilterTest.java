@@ -0,0 +1,38 @@
+package com.example.sample;
+
+import com.example.sample.customer.CustomerTelFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class CustomerTelFilterTest {
+
+    @Autowired
+    private CustomerTelFilter filter;
+
+    @Test
+    @DisplayName("시작 시 기존 번호 적재")
+    void built() {
+        assertTrue(filter.mightContain("01040234504"));
+    }
+
+    @Test
+    @DisplayName("추가한 번호는 항상 있음, 없는 번호는 대부분 없음")
+    void mightContain() {
+        IntStream.range(0, 100).forEach(i -> filter.add("0661111%04d".formatted(i)));
+
+        IntStream.range(0, 100).forEach(i -> assertTrue(filter.mightContain("0661111%04d".formatted(i))));
+        long falsePositives = IntStream.range(0, 1000)
+                .filter(i -> filter.mightContain("0662222%04d".formatted(i)))
+                .count();
+        assertTrue(falsePositives < 50);
+        assertFalse(filter.mightContain("06699999999"));
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.sample;
+
+import com.example.sample.common.datasource.PrimaryRead;
+import com.example.sample.common.datasource.ReplicaRoutingDataSource;
+import com.example.sample.common.datasource.RoutingDataSource;
+import jakarta.servlet.http.Cookie;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 로컬 H2 3개를 primary / replica 로 두고, 각 DB 의 node 테이블 값으로 어디로 갔는지 확인한다.
+public class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = h2("routing-primary");
+    private final DataSource replica1 = h2("routing-replica-1");
+    private final DataSource replica2 = h2("routing-replica-2");
+
+    private RoutingDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readTemplate;
+    private TransactionTemplate writeTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new RoutingDataSource(new ReplicaRoutingDataSource(
+                primary, List.of(replica1, replica2), Duration.ofMillis(300), "secret", Duration.ofHours(1)
+        ));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readTemplate = new TransactionTemplate(transactionManager);
+        readTemplate.setReadOnly(true);
+        writeTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 replica 로 번갈아, 쓰기와 트랜잭션 밖은 primary 로")
+    void route() {
+        Set<String> reads = IntStream.range(0, 4).mapToObj(i -> read()).collect(Collectors.toSet());
+        assertEquals(Set.of("routing-replica-1", "routing-replica-2"), reads);
+
+        assertEquals("routing-primary", writeTemplate.execute(status -> node()));
+        assertEquals("routing-primary", node());
+    }
+
+    @Test
+    @DisplayName("PrimaryRead 로 감싼 읽기는 readOnly 트랜잭션이어도 primary 로")
+    void primaryRead() {
+        assertEquals("routing-primary", PrimaryRead.call(this::read));
+        assertEquals("routing-primary", PrimaryRead.call(() -> PrimaryRead.call(this::read)));
+        assertTrue(read().startsWith("routing-replica"));
+    }
+
+    @Test
+    @DisplayName("쓰기 커밋 후 stickiness 동안은 쓴 쪽(요청 밖에서는 스레드)의 읽기만 primary 로")
+    void readYourWrites() throws Exception {
+        write();
+        assertEquals("routing-primary", read());
+        assertTrue(readOnOtherThread().startsWith("routing-replica"));
+
+        Thread.sleep(400);
+        assertTrue(read().startsWith("routing-replica"));
+    }
+
+    @Test
+    @DisplayName("웹 요청은 cookie 로 같은 클라이언트의 다음 요청만 primary 에서 읽는다")
+    void readYourWritesCookie() {
+        MockHttpServletResponse writeResponse = inRequest(new MockHttpServletRequest(), () -> {
+            write();
+            assertEquals("routing-primary", read());
+        });
+        Cookie cookie = writeResponse.getCookie("primary-until");
+        assertNotNull(cookie);
+
+        MockHttpServletRequest sameClient = new MockHttpServletRequest();
+        sameClient.setCookies(cookie);
+        inRequest(sameClient, () -> assertEquals("routing-primary", read()));
+        inRequest(new MockHttpServletRequest(), () -> assertTrue(read().startsWith("routing-replica")));
+    }
+
+    @Test
+    @DisplayName("서명이 없거나 바꾼 cookie 는 무시한다")
+    void forgedCookie() {
+        Cookie cookie = inRequest(new MockHttpServletRequest(), this::write).getCookie("primary-until");
+        assertNotNull(cookie);
+        String signature = cookie.getValue().substring(cookie.getValue().indexOf('.'));
+
+        for (String forged : List.of("9999999999999", "9999999999999" + signature, cookie.getValue() + "x")) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.setCookies(new Cookie("primary-until", forged));
+            inRequest(request, () -> assertTrue(read().startsWith("routing-replica")));
+        }
+    }
+
+    @Test
+    @DisplayName("죽은 replica 는 제외하고, 모두 죽으면 primary 로")
+    void fallback() {
+        shutdown(replica1);
+        dataSource.getRouting().checkHealth();
+        assertEquals(1, dataSource.getRouting().healthyReplicas());
+        IntStream.range(0, 4).forEach(i -> assertEquals("routing-replica-2", read()));
+
+        shutdown(replica2);
+        IntStream.range(0, 4).forEach(i -> assertEquals("routing-primary", read()));
+        assertEquals(0, dataSource.getRouting().healthyReplicas());
+    }
+
+    private void write() {
+        writeTemplate.executeWithoutResult(status -> jdbcTemplate.update("update node set name = name"));
+    }
+
+    private String readOnOtherThread() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            return executor.submit(this::read).get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static MockHttpServletResponse inRequest(MockHttpServletRequest request, Runnable action) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        try {
+            action.run();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+        return response;
+    }
+
+    private String read() {
+        return readTemplate.execute(status -> node());
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    // H2 는 shutdown 하면서 자기 세션도 닫아 예외를 던진다.
+    private static void shutdown(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("shutdown");
+        } catch (SQLException ignored) {
+        }
+    }
+
+    // shutdown 뒤에 빈 DB 가 새로 만들어지지 않도록 IFEXISTS 로 연결한다.
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = jdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists node (name varchar(50))");
+        jdbcTemplate.execute("delete from node");
+        jdbcTemplate.update("insert into node values (?)", name);
+
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1;IFEXISTS=TRUE");
+        return dataSource;
+    }
+
+    private static JdbcTemplate jdbcTemplate(DataSource dataSource) {
+        return new JdbcTemplate(dataSource);
+    }
+}